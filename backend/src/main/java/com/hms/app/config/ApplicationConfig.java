@@ -1,35 +1,66 @@
 package com.hms.app.config;
 
-import com.hms.app.repository.UserRepository;
+import com.hms.app.security.BoundedPasswordEncoder;
+import com.hms.app.security.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
-    private final UserRepository userRepository;
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
 
-    @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByUsernameOrEmailIgnoreCase(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-    }
+    // Single cached UserDetailsService shared by login and the JWT filter
+    private final UserDetailsServiceImpl userDetailsService;
+
+    // Algorithm for new hashes; stored hashes of the other kind (or a lower cost) are upgraded on login
+    @Value("${app.security.password.algorithm:bcrypt}")
+    private String passwordAlgorithm;
+
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.password.argon2.memory-kb:16384}")
+    private int argon2MemoryKb;
+
+    @Value("${app.security.password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${app.security.password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.security.password.hashing.queue-capacity:100}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.security.password.hashing.wait-timeout-ms:10000}")
+    private long hashingWaitTimeoutMs;
+
+    @Value("${app.security.password.hashing.retry-after-seconds:2}")
+    private long hashingRetryAfterSeconds;
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsService(userDetailsService);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -38,8 +69,25 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKb, argon2Iterations));
+
+        String idForEncode = ARGON2.equalsIgnoreCase(passwordAlgorithm) ? ARGON2 : BCRYPT;
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // Existing hashes are stored as plain "$2a$..." without an {id} prefix
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                delegating,
+                threads,
+                hashingQueueCapacity,
+                Duration.ofMillis(hashingWaitTimeoutMs),
+                hashingRetryAfterSeconds,
+                meterRegistry
+        );
     }
 }
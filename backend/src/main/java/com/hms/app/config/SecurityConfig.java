@@ -2,9 +2,12 @@ package com.hms.app.config;
 
 import com.hms.app.security.JwtAuthenticationEntryPoint;
 import com.hms.app.security.JwtRequestFilter;
+import com.hms.app.security.RouteClassifier;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -38,66 +41,19 @@ public class SecurityConfig {
                 .exceptionHandling(exceptions -> exceptions
                         .authenticationEntryPoint(jwtAuthenticationEntryPoint)
                 )
-                .authorizeHttpRequests(auth -> auth
-                        // H2 Console
-                        .requestMatchers("/h2-console/**").permitAll()
-
-                        // ✅ Health check for Render
-                        .requestMatchers("/api/health", "/api/ping").permitAll()
-
-                        // Public endpoints
-                        .requestMatchers(
-                                "/",
-                                "/health",
-                                "/error",
-                                "/favicon.ico",
-                                "/actuator/**"
-                        ).permitAll()
-
-                        // Authentication endpoints
-                        .requestMatchers(
-                                "/api/v1/auth/**",
-                                "/api/auth/**"
-                        ).permitAll()
-
-                        // Public data endpoints
-                        .requestMatchers(
-                                "/api/v1/departments",
-                                "/api/departments",
-                                "/api/v1/doctors/specializations",
-                                "/api/doctors/specializations"
-                        ).permitAll()
-
-                        // Public read-only doctor list
-                        .requestMatchers(org.springframework.http.HttpMethod.GET,
-                                "/api/v1/doctors",
-                                "/api/doctors"
-                        ).permitAll()
-
-                        // Admin endpoints
-                        .requestMatchers(
-                                "/api/v1/admin/**",
-                                "/api/admin/**"
-                        ).hasRole("ADMIN")
-
-                        // Role-specific endpoints
-                        .requestMatchers("/api/v1/doctor/**", "/api/doctor/**")
-                        .hasAnyRole("DOCTOR", "ADMIN")
-
-                        .requestMatchers("/api/v1/nurse/**", "/api/nurse/**")
-                        .hasAnyRole("NURSE", "ADMIN")
-
-                        .requestMatchers("/api/v1/patient/**", "/api/patient/**")
-                        .hasAnyRole("PATIENT", "ADMIN")
-
-                        .requestMatchers("/api/v1/receptionist/**", "/api/receptionist/**")
-                        .hasAnyRole("RECEPTIONIST", "ADMIN")
-
-                        .requestMatchers("/api/v1/pharmacist/**", "/api/pharmacist/**")
-                        .hasAnyRole("PHARMACIST", "ADMIN")
-
-                        .anyRequest().authenticated()
-                )
+                .authorizeHttpRequests(auth -> {
+                    // Rules live in RouteClassifier so the JWT filter and RoutingService share them
+                    // Async re-dispatches of an already authorized request (SSE streams) carry no JWT
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
+                    auth.requestMatchers(RouteClassifier.PUBLIC_PATTERNS).permitAll();
+                    auth.requestMatchers(HttpMethod.GET, RouteClassifier.PUBLIC_GET_PATTERNS).permitAll();
+
+                    // Role-specific endpoints
+                    RouteClassifier.ROLE_RULES.forEach(rule ->
+                            auth.requestMatchers(rule.patterns()).hasAnyRole(rule.roles()));
+
+                    auth.anyRequest().authenticated();
+                })
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
@@ -1,14 +1,25 @@
 package com.hms.app.controller;
 
+import com.hms.app.dto.ApiResponse;
+import com.hms.app.dto.AppointmentFilter;
+import com.hms.app.dto.AppointmentResponse;
+import com.hms.app.dto.CursorPage;
+import com.hms.app.dto.FreeSlotResponse;
 import com.hms.app.entity.Appointment;
+import com.hms.app.enums.AppointmentStatus;
+import com.hms.app.exception.SlotUnavailableException;
 import com.hms.app.service.AppointmentService;
+import com.hms.app.service.AvailabilityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,28 +30,66 @@ import java.util.Optional;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final AvailabilityService availabilityService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'RECEPTIONIST', 'PATIENT')")
-    public ResponseEntity<Appointment> createAppointment(@RequestBody Appointment appointment) {
+    public ResponseEntity<?> createAppointment(@RequestBody Appointment appointment) {
         log.info("Creating new appointment");
-        Appointment savedAppointment = appointmentService.saveAppointment(appointment);
-        return new ResponseEntity<>(savedAppointment, HttpStatus.CREATED);
+        try {
+            AppointmentResponse savedAppointment = appointmentService.saveAppointment(appointment);
+            return new ResponseEntity<>(savedAppointment, HttpStatus.CREATED);
+        } catch (SlotUnavailableException e) {
+            return slotTaken(e);
+        }
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
-    public ResponseEntity<List<Appointment>> getAllAppointments() {
-        log.info("Fetching all appointments");
-        List<Appointment> appointments = appointmentService.getAllAppointments();
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<CursorPage<AppointmentResponse>> getAllAppointments(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Fetching appointments page (cursor={}, limit={})", cursor != null, limit);
+        AppointmentFilter filter = AppointmentFilter.builder()
+                .status(parseStatus(status))
+                .doctorId(doctorId)
+                .patientId(patientId)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(appointmentService.getAppointments(filter, cursor, limit));
+    }
+
+    // Earliest free slot across all doctors of a specialization and/or department
+    @GetMapping("/availability/next")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST', 'PATIENT')")
+    public ResponseEntity<FreeSlotResponse> getNextFreeSlot(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after) {
+        return availabilityService.findNextFreeSlot(specialization, departmentId, after)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/availability/doctor/{doctorId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST', 'PATIENT')")
+    public ResponseEntity<List<FreeSlotResponse>> getDoctorFreeSlots(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(availabilityService.getFreeSlots(doctorId, date));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST', 'PATIENT')")
-    public ResponseEntity<Appointment> getAppointmentById(@PathVariable Long id) {
+    public ResponseEntity<AppointmentResponse> getAppointmentById(@PathVariable Long id) {
         log.info("Fetching appointment by id: {}", id);
-        Optional<Appointment> appointmentOptional = appointmentService.getAppointmentById(id);
+        Optional<AppointmentResponse> appointmentOptional = appointmentService.getAppointmentById(id);
         return appointmentOptional.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -48,39 +97,32 @@ public class AppointmentController {
     // ✅ NEW: Get patient's appointments
     @GetMapping("/patient/{patientId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST', 'PATIENT')")
-    public ResponseEntity<List<Appointment>> getPatientAppointments(@PathVariable Long patientId) {
+    public ResponseEntity<List<AppointmentResponse>> getPatientAppointments(@PathVariable Long patientId) {
         log.info("Fetching appointments for patient: {}", patientId);
-        List<Appointment> appointments = appointmentService.getAppointmentsByPatientId(patientId);
+        List<AppointmentResponse> appointments = appointmentService.getAppointmentsByPatientId(patientId);
         return ResponseEntity.ok(appointments);
     }
 
     // ✅ NEW: Get doctor's appointments
     @GetMapping("/doctor/{doctorId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
-    public ResponseEntity<List<Appointment>> getDoctorAppointments(@PathVariable Long doctorId) {
+    public ResponseEntity<List<AppointmentResponse>> getDoctorAppointments(@PathVariable Long doctorId) {
         log.info("Fetching appointments for doctor: {}", doctorId);
-        List<Appointment> appointments = appointmentService.getAppointmentsByDoctorId(doctorId);
+        List<AppointmentResponse> appointments = appointmentService.getAppointmentsByDoctorId(doctorId);
         return ResponseEntity.ok(appointments);
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'RECEPTIONIST')")
-    public ResponseEntity<Appointment> updateAppointment(@PathVariable Long id, @RequestBody Appointment appointmentDetails) {
+    public ResponseEntity<?> updateAppointment(@PathVariable Long id, @RequestBody Appointment appointmentDetails) {
         log.info("Updating appointment: {}", id);
-        Optional<Appointment> appointmentOptional = appointmentService.getAppointmentById(id);
-
-        if (!appointmentOptional.isPresent()) {
-            return ResponseEntity.notFound().build();
+        try {
+            Optional<AppointmentResponse> updatedAppointment = appointmentService.updateAppointment(id, appointmentDetails);
+            return updatedAppointment.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (SlotUnavailableException e) {
+            return slotTaken(e);
         }
-
-        Appointment existingAppointment = appointmentOptional.get();
-        existingAppointment.setPatient(appointmentDetails.getPatient());
-        existingAppointment.setDoctor(appointmentDetails.getDoctor());
-        existingAppointment.setAppointmentDateTime(appointmentDetails.getAppointmentDateTime());
-        existingAppointment.setStatus(appointmentDetails.getStatus());
-
-        Appointment updatedAppointment = appointmentService.saveAppointment(existingAppointment);
-        return ResponseEntity.ok(updatedAppointment);
     }
 
     @DeleteMapping("/{id}")
@@ -93,4 +135,17 @@ public class AppointmentController {
         appointmentService.deleteAppointment(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<ApiResponse<Void>> slotTaken(SlotUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse<>(e.getMessage(), null, false));
+    }
+
+    // "all" (sent by the list UI) or blank means no status filter
+    private AppointmentStatus parseStatus(String status) {
+        if (status == null || status.isBlank() || "all".equalsIgnoreCase(status)) {
+            return null;
+        }
+        return AppointmentStatus.valueOf(status.trim().toUpperCase());  // Unknown values are a 400
+    }
 }
@@ -1,10 +1,13 @@
 package com.hms.app.controller;
 
 import com.hms.app.dto.*;
+import com.hms.app.exception.InvalidRefreshTokenException;
+import com.hms.app.exception.PasswordHashingRejectedException;
 import com.hms.app.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +30,8 @@ public class AuthController {
             request.setRole("PATIENT");
             AuthResponse response = authService.register(request);
             return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } catch (PasswordHashingRejectedException e) {
+            return serverBusy(e);
         } catch (Exception e) {
             log.error("Registration failed: {}", e.getMessage(), e);
             AuthResponse errorResponse = AuthResponse.builder()
@@ -44,6 +49,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            return serverBusy(e);
         } catch (Exception e) {
             log.error("Login failed: {}", e.getMessage(), e);
             AuthResponse errorResponse = AuthResponse.builder()
@@ -53,6 +60,37 @@ public class AuthController {
         }
     }
 
+    /**
+     * Exchange a refresh token for a new access/refresh pair
+     */
+    @PostMapping({"/refresh", "/refresh-token"})
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+        } catch (InvalidRefreshTokenException e) {
+            log.warn("Token refresh rejected: {}", e.getMessage());
+            AuthResponse errorResponse = AuthResponse.builder()
+                    .message(e.getMessage())
+                    .build();
+            return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    /**
+     * Logout - revokes the refresh token family of this session
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(@RequestBody(required = false) RefreshTokenRequest request) {
+        try {
+            authService.logout(request != null ? request.getRefreshToken() : null);
+            return ResponseEntity.ok(new ApiResponse<>("Logged out successfully", null, true));
+        } catch (Exception e) {
+            log.error("Logout failed: {}", e.getMessage(), e);
+            ApiResponse<String> errorResponse = new ApiResponse<>("Logout failed: " + e.getMessage(), null, false);
+            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Password reset request
      */
@@ -95,4 +133,17 @@ public class AuthController {
             return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
     }
+
+    /**
+     * Fast 503 while the password hashing pool is saturated
+     */
+    private ResponseEntity<AuthResponse> serverBusy(PasswordHashingRejectedException e) {
+        log.warn("Rejecting auth request under load: {}", e.getMessage());
+        AuthResponse errorResponse = AuthResponse.builder()
+                .message(e.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
 }
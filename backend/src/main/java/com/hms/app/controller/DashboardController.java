@@ -4,14 +4,20 @@ import com.hms.app.dto.*;
 import com.hms.app.entity.User;
 import com.hms.app.enums.Role;
 import com.hms.app.repository.UserRepository;
+import com.hms.app.security.AuthenticatedUser;
+import com.hms.app.security.UserPrincipal;
 import com.hms.app.service.DashboardService;
+import com.hms.app.service.DashboardStreamService;
 import com.hms.app.service.RoutingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -23,6 +29,7 @@ public class DashboardController {
     private final DashboardService dashboardService;
     private final RoutingService routingService;
     private final UserRepository userRepository;
+    private final DashboardStreamService dashboardStreamService;
 
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
@@ -52,6 +59,31 @@ public class DashboardController {
         }
     }
 
+    // Live deltas for an open dashboard; clients reload the full dashboard after a reconnect
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
+    public ResponseEntity<SseEmitter> streamDashboard(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        Long userId;
+        Role role;
+        if (principal instanceof AuthenticatedUser user) {
+            userId = user.userId();
+            role = user.role();
+        } else if (principal instanceof UserPrincipal user) {
+            userId = user.getId();
+            role = user.getRole();
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok(dashboardStreamService.subscribe(userId, authentication.getName(), role));
+        } catch (IllegalStateException e) {
+            log.warn("⚠️ Dashboard stream refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @GetMapping("/patient")
     @PreAuthorize("hasRole('PATIENT')")
     public ResponseEntity<ApiResponse<PatientDashboardData>> getPatientDashboard(Authentication authentication) {
@@ -1,12 +1,18 @@
 package com.hms.app.controller;
 
+import com.hms.app.dto.CursorPage;
+import com.hms.app.dto.MedicalRecordSearchFilter;
+import com.hms.app.dto.MedicalRecordSearchResult;
 import com.hms.app.entity.MedicalRecord;
 import com.hms.app.service.MedicalRecordService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +39,26 @@ public class MedicalRecordController {
         return ResponseEntity.ok(records);
     }
 
+    // Full-text search over diagnosis and symptoms, with highlighted excerpts
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE')")
+    public ResponseEntity<CursorPage<MedicalRecordSearchResult>> searchMedicalRecords(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        MedicalRecordSearchFilter filter = MedicalRecordSearchFilter.builder()
+                .patientId(patientId)
+                .doctorId(doctorId)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(medicalRecordService.searchMedicalRecords(query, filter, cursor, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MedicalRecord> getMedicalRecordById(@PathVariable Long id) {
         Optional<MedicalRecord> recordOptional = medicalRecordService.getMedicalRecordById(id);
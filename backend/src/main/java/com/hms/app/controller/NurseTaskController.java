@@ -0,0 +1,94 @@
+package com.hms.app.controller;
+
+import com.hms.app.dto.ApiResponse;
+import com.hms.app.dto.NurseTaskRequest;
+import com.hms.app.dto.NurseTaskResponse;
+import com.hms.app.enums.NurseTaskStatus;
+import com.hms.app.exception.ResourceNotFoundException;
+import com.hms.app.service.NurseTaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/nurse-tasks")
+@RequiredArgsConstructor
+public class NurseTaskController {
+
+    private final NurseTaskService nurseTaskService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
+    public ResponseEntity<?> createTask(@RequestBody NurseTaskRequest request) {
+        log.info("Creating nurse task for patient: {}", request.getPatientId());
+        try {
+            return new ResponseEntity<>(nurseTaskService.createTask(request), HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return error(HttpStatus.NOT_FOUND, e);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e);
+        }
+    }
+
+    // The signed-in nurse's queue, highest priority first
+    @GetMapping("/next")
+    @PreAuthorize("hasRole('NURSE')")
+    public ResponseEntity<List<NurseTaskResponse>> getMyNextTasks(
+            Authentication authentication,
+            @RequestParam(defaultValue = "10") int limit) {
+        Long nurseId = nurseTaskService.resolveNurseId(authentication.getName());
+        return ResponseEntity.ok(nurseTaskService.getNextTasks(nurseId, limit));
+    }
+
+    @GetMapping("/nurse/{nurseId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'RECEPTIONIST')")
+    public ResponseEntity<List<NurseTaskResponse>> getNurseTasks(
+            @PathVariable Long nurseId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(nurseTaskService.getNextTasks(nurseId, limit));
+    }
+
+    @PutMapping("/{id}/assign")
+    @PreAuthorize("hasAnyRole('ADMIN', 'NURSE', 'RECEPTIONIST')")
+    public ResponseEntity<?> assignTask(Authentication authentication, @PathVariable Long id,
+                                        @RequestParam(required = false) Long nurseId) {
+        try {
+            return ResponseEntity.ok(nurseTaskService.assignTask(id, nurseId, actingNurseId(authentication)));
+        } catch (ResourceNotFoundException e) {
+            return error(HttpStatus.NOT_FOUND, e);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e);
+        }
+    }
+
+    @PutMapping("/{id}/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'NURSE')")
+    public ResponseEntity<?> updateStatus(Authentication authentication, @PathVariable Long id,
+                                          @RequestParam NurseTaskStatus status) {
+        try {
+            return ResponseEntity.ok(nurseTaskService.updateStatus(id, status, actingNurseId(authentication)));
+        } catch (ResourceNotFoundException e) {
+            return error(HttpStatus.NOT_FOUND, e);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e);
+        }
+    }
+
+    // Nurses are limited to their own tasks; the other roles allowed here manage everyone's
+    private Long actingNurseId(Authentication authentication) {
+        boolean nurse = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_NURSE".equals(authority.getAuthority()));
+        return nurse ? nurseTaskService.resolveNurseId(authentication.getName()) : null;
+    }
+
+    private ResponseEntity<ApiResponse<Void>> error(HttpStatus status, RuntimeException e) {
+        return ResponseEntity.status(status).body(new ApiResponse<>(e.getMessage(), null, false));
+    }
+}
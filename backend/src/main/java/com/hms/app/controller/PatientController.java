@@ -1,14 +1,16 @@
 package com.hms.app.controller;
 
+import com.hms.app.dto.PageResponse;
+import com.hms.app.dto.PatientDashboardData;
+import com.hms.app.dto.PatientDirectoryFilter;
 import com.hms.app.dto.PatientResponse;
-import com.hms.app.entity.Appointment;
 import com.hms.app.entity.Patient;
 import com.hms.app.entity.User;
-import com.hms.app.enums.AppointmentStatus;
-import com.hms.app.repository.AppointmentRepository;
-import com.hms.app.repository.MedicalRecordRepository;
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
 import com.hms.app.repository.PatientRepository;
 import com.hms.app.repository.UserRepository;
+import com.hms.app.service.PatientDashboardService;
 import com.hms.app.service.PatientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,9 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -31,8 +31,7 @@ public class PatientController {
     private final PatientService patientService;
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
-    private final AppointmentRepository appointmentRepository;
-    private final MedicalRecordRepository medicalRecordRepository;
+    private final PatientDashboardService patientDashboardService;
 
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('PATIENT')")
@@ -42,97 +41,31 @@ public class PatientController {
 
             String userEmail = authentication.getName();
 
-            // Find user
+            Optional<PatientDashboardData> dashboard = patientDashboardService.getDashboard(userEmail);
+            if (dashboard.isPresent()) {
+                log.info("✅ Dashboard compiled successfully");
+                return ResponseEntity.ok(dashboard.get());
+            }
+
+            // Only the error path needs the account itself
             User user = userRepository.findByEmailIgnoreCase(userEmail)
                     .orElseThrow(() -> {
                         log.error("❌ User not found: {}", userEmail);
                         return new RuntimeException("User not found");
                     });
 
-            log.info("✅ User found: ID={}, Email={}", user.getId(), user.getEmail());
-
-            // ✅ Check if patient record exists
-            Optional<Patient> patientOptional = patientRepository.findByUser_Id(user.getId());
-
-            if (patientOptional.isEmpty()) {
-                log.error("❌ PATIENT RECORD NOT FOUND for User ID: {}", user.getId());
-
-                // Return 404 with helpful error message
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("status", "error");
-                errorResponse.put("code", "PATIENT_RECORD_NOT_FOUND");
-                errorResponse.put("message", "Your patient profile hasn't been created yet. Please contact the receptionist or administrator to complete your registration.");
-                errorResponse.put("userId", user.getId());
-                errorResponse.put("email", user.getEmail());
-                errorResponse.put("action", "Please contact support to complete your patient profile setup.");
+            log.error("❌ PATIENT RECORD NOT FOUND for User ID: {}", user.getId());
 
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-            }
+            // Return 404 with helpful error message
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("code", "PATIENT_RECORD_NOT_FOUND");
+            errorResponse.put("message", "Your patient profile hasn't been created yet. Please contact the receptionist or administrator to complete your registration.");
+            errorResponse.put("userId", user.getId());
+            errorResponse.put("email", user.getEmail());
+            errorResponse.put("action", "Please contact support to complete your patient profile setup.");
 
-            Patient patient = patientOptional.get();
-            log.info("✅ Patient found: ID={}, Name={} {}",
-                    patient.getPatientId(), patient.getFirstName(), patient.getLastName());
-
-            // Build dashboard data
-            Map<String, Object> dashboard = new HashMap<>();
-            dashboard.put("status", "success");
-            dashboard.put("welcomeMessage", "Welcome back, " + patient.getFirstName() + "!");
-
-            // Get counts
-            int upcomingAppointments = appointmentRepository.countByPatientAndStatusAndAppointmentTimeAfter(
-                    patient.getPatientId(),
-                    AppointmentStatus.SCHEDULED,
-                    LocalDateTime.now()
-            );
-            dashboard.put("upcomingAppointments", upcomingAppointments);
-
-            int medicalRecordsCount = medicalRecordRepository.countByPatient(patient);
-            dashboard.put("medicalRecordsCount", medicalRecordsCount);
-
-            dashboard.put("activePrescriptions", 0);
-            dashboard.put("outstandingBills", 0.0);
-
-            // Get appointments
-            List<Appointment> recentAppointments = appointmentRepository
-                    .findTop5ByPatientOrderByAppointmentTimeDesc(patient.getPatientId());
-
-            List<Map<String, Object>> appointmentsList = recentAppointments.stream()
-                    .map(apt -> {
-                        Map<String, Object> aptMap = new HashMap<>();
-                        aptMap.put("appointmentId", apt.getAppointmentId());
-                        aptMap.put("doctorName", "Dr. " + apt.getDoctor().getFirstName() + " " + apt.getDoctor().getLastName());
-                        aptMap.put("specialization", apt.getDoctor().getSpecialization());
-                        aptMap.put("appointmentDateTime", apt.getAppointmentDateTime());
-                        aptMap.put("status", apt.getStatus().toString());
-                        aptMap.put("reason", apt.getReason());
-
-                        Map<String, Object> doctorMap = new HashMap<>();
-                        doctorMap.put("doctorId", apt.getDoctor().getDoctorId());
-                        doctorMap.put("firstName", apt.getDoctor().getFirstName());
-                        doctorMap.put("lastName", apt.getDoctor().getLastName());
-                        doctorMap.put("specialization", apt.getDoctor().getSpecialization());
-                        aptMap.put("doctor", doctorMap);
-
-                        return aptMap;
-                    })
-                    .collect(Collectors.toList());
-
-            dashboard.put("appointments", appointmentsList);
-
-            // Patient info
-            Map<String, Object> patientInfo = new HashMap<>();
-            patientInfo.put("patientId", patient.getPatientId());
-            patientInfo.put("firstName", patient.getFirstName());
-            patientInfo.put("lastName", patient.getLastName());
-            patientInfo.put("email", user.getEmail());
-            patientInfo.put("dateOfBirth", patient.getDateOfBirth());
-            patientInfo.put("gender", patient.getGender());
-            patientInfo.put("contactNumber", patient.getContactNumber());
-            patientInfo.put("bloodGroup", patient.getBloodGroup());
-            dashboard.put("patientInfo", patientInfo);
-
-            log.info("✅ Dashboard compiled successfully");
-            return ResponseEntity.ok(dashboard);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
 
         } catch (Exception e) {
             log.error("❌ Dashboard error: {}", e.getMessage(), e);
@@ -170,14 +103,25 @@ public class PatientController {
         }
     }
 
+    // Paginated directory; pass includeTotal=false to skip the COUNT query on large tables
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
-    public ResponseEntity<List<PatientResponse>> getAllPatients() {
-        List<Patient> patients = patientService.getAllPatients();
-        List<PatientResponse> response = patients.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PageResponse<PatientResponse>> getAllPatients(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String bloodGroup,
+            @RequestParam(required = false) Gender gender,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
+        PatientDirectoryFilter filter = PatientDirectoryFilter.builder()
+                .bloodGroup(BloodGroup.fromValue(bloodGroup))
+                .gender(gender)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .build();
+        return ResponseEntity.ok(patientService.getPatientDirectory(filter, page, size, sort, includeTotal));
     }
 
     @GetMapping("/{id}")
@@ -191,7 +135,7 @@ public class PatientController {
     private PatientResponse convertToResponse(Patient patient) {
         PatientResponse response = new PatientResponse();
         response.setId(patient.getPatientId());
-        response.setPatientId("P-" + String.format("%06d", patient.getPatientId()));
+        response.setPatientId(PatientResponse.formatPatientId(patient.getPatientId()));
         response.setFirstName(patient.getFirstName());
         response.setLastName(patient.getLastName());
         response.setFullName(patient.getFirstName() + " " + patient.getLastName());
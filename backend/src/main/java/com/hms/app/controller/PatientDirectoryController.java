@@ -0,0 +1,104 @@
+package com.hms.app.controller;
+
+import com.hms.app.dto.CursorPage;
+import com.hms.app.dto.DemographicLookupResponse;
+import com.hms.app.dto.PatientDemographicFilter;
+import com.hms.app.dto.PatientSearchResult;
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.ExportFormat;
+import com.hms.app.enums.Gender;
+import com.hms.app.service.PatientDemographicsService;
+import com.hms.app.service.PatientExportService;
+import com.hms.app.service.PatientService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Staff-facing patient lookups; /api/v1/patient/** is the patient's own area
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/patients")
+@RequiredArgsConstructor
+public class PatientDirectoryController {
+
+    private final PatientService patientService;
+    private final PatientExportService patientExportService;
+    private final PatientDemographicsService patientDemographicsService;
+
+    // Ranked, typo-tolerant match on name or email
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
+    public ResponseEntity<CursorPage<PatientSearchResult>> searchPatients(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("Searching patients (cursor={}, limit={})", cursor != null, limit);
+        return ResponseEntity.ok(patientService.searchPatients(query, cursor, limit));
+    }
+
+    // Emergency lookup, e.g. all O- patients with contact numbers; answered from the in-memory bitmap index
+    @GetMapping("/demographics")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR', 'NURSE', 'RECEPTIONIST')")
+    public ResponseEntity<DemographicLookupResponse> lookupByDemographics(
+            @RequestParam(required = false) List<String> bloodGroup,
+            @RequestParam(required = false) Set<Gender> gender,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(defaultValue = "200") int limit) {
+        Set<BloodGroup> bloodGroups = bloodGroup == null ? Set.of() : bloodGroup.stream()
+                .map(BloodGroup::fromValue)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        PatientDemographicFilter filter = PatientDemographicFilter.builder()
+                .bloodGroups(bloodGroups)
+                .genders(gender)
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .build();
+        return ResponseEntity.ok(patientDemographicsService.lookup(filter, limit));
+    }
+
+    // Whole patient list as CSV or NDJSON, streamed from a database cursor
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST')")
+    public ResponseEntity<StreamingResponseBody> exportPatients(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = parseFormat(format);
+        log.info("Exporting patients as {}", exportFormat);
+        try {
+            StreamingResponseBody body = patientExportService.export(exportFormat);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("patients." + exportFormat.getExtension())
+                            .build()
+                            .toString())
+                    .body(body);
+        } catch (IllegalStateException e) {
+            log.warn("⚠️ Patient export refused: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: " + format);
+        }
+    }
+}
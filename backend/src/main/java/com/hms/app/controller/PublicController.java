@@ -3,6 +3,7 @@ package com.hms.app.controller;
 import com.hms.app.entity.User;
 import com.hms.app.enums.Role;
 import com.hms.app.repository.UserRepository;
+import com.hms.app.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +18,7 @@ import java.util.Map;
 public class PublicController {
 
     private final UserRepository userRepository;
+    private final StatisticsService statisticsService;
 
     // Health check endpoint
     @GetMapping("/health")
@@ -30,14 +32,17 @@ public class PublicController {
     // Database statistics (Development only)
     @GetMapping("/db-stats")
     public ResponseEntity<Map<String, Object>> getDatabaseStats() {
+        StatisticsService.Snapshot counters = statisticsService.getSnapshot();
+        boolean adminExists = userRepository.existsByEmail("admin@hospital.com");
+
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", userRepository.count());
-        stats.put("adminCount", userRepository.countByRole(Role.ADMIN));
-        stats.put("doctorCount", userRepository.countByRole(Role.DOCTOR));
-        stats.put("nurseCount", userRepository.countByRole(Role.NURSE));
-        stats.put("patientCount", userRepository.countByRole(Role.PATIENT));
-        stats.put("adminExists", userRepository.existsByEmail("admin@hospital.com"));
-        stats.put("systemReady", userRepository.existsByEmail("admin@hospital.com"));
+        stats.put("totalUsers", counters.totalUsers());
+        stats.put("adminCount", counters.count(Role.ADMIN));
+        stats.put("doctorCount", counters.count(Role.DOCTOR));
+        stats.put("nurseCount", counters.count(Role.NURSE));
+        stats.put("patientCount", counters.count(Role.PATIENT));
+        stats.put("adminExists", adminExists);
+        stats.put("systemReady", adminExists);
 
         return ResponseEntity.ok(stats);
     }
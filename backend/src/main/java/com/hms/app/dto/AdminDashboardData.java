@@ -14,6 +14,7 @@ import java.util.List;
 public class AdminDashboardData {
     private String welcomeMessage;
     private int totalUsers;
+    private int activeUsers;
     private int totalDoctors;
     private int totalPatients;
     private int totalNurses;
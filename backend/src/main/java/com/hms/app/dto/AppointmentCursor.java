@@ -0,0 +1,32 @@
+package com.hms.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position (appointmentDateTime, appointmentId) of the last row on a
+ * page, exchanged with clients as an opaque URL-safe string.
+ */
+public record AppointmentCursor(LocalDateTime appointmentDateTime, Long appointmentId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = appointmentDateTime + SEPARATOR + appointmentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppointmentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new AppointmentCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
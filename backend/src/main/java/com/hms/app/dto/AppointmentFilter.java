@@ -0,0 +1,24 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for the appointment listing; null fields are ignored.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentFilter {
+    private AppointmentStatus status;
+    private Long doctorId;
+    private Long patientId;
+    private LocalDateTime from;  // inclusive
+    private LocalDateTime to;    // exclusive
+}
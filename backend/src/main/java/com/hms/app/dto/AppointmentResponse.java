@@ -1,10 +1,15 @@
 package com.hms.app.dto;
 
 import com.hms.app.enums.AppointmentStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor  // Used by JPQL constructor expressions - keep field order in sync
 public class AppointmentResponse {
     private Long id;
     private Long patientId;
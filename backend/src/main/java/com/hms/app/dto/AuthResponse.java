@@ -12,6 +12,8 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     private String token;
     private String tokenType;
+    private String refreshToken;
+    private Long expiresIn;  // Access token lifetime in seconds
     private UserProfile user;  // ✅ Use existing UserProfile
     private String message;
 
@@ -0,0 +1,23 @@
+package com.hms.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One incremental change pushed to open dashboards over
+ * /api/v1/dashboard/stream. The type doubles as the SSE event name.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardDelta {
+    private String type;
+    private LocalDateTime occurredAt;
+    private Map<String, Object> data;
+}
@@ -0,0 +1,22 @@
+package com.hms.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Patients matching a demographic lookup, lowest id first. matches is the
+ * full count; patients stops at the requested limit.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DemographicLookupResponse {
+    private long matches;
+    private boolean truncated;
+    private List<PatientContactResult> patients;
+}
@@ -0,0 +1,21 @@
+package com.hms.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FreeSlotResponse {
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private Long departmentId;
+    private LocalDateTime slotStart;
+    private LocalDateTime slotEnd;
+}
@@ -0,0 +1,22 @@
+package com.hms.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for medical record search; null fields are ignored.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MedicalRecordSearchFilter {
+    private Long patientId;
+    private Long doctorId;     // Doctor of the appointment the record belongs to
+    private LocalDate from;    // inclusive
+    private LocalDate to;      // inclusive
+}
@@ -0,0 +1,28 @@
+package com.hms.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One search hit. The highlight fields are HTML-escaped excerpts with the
+ * matched terms wrapped in &lt;mark&gt;, safe to render as markup.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MedicalRecordSearchResult {
+    private Long recordId;
+    private Long patientId;
+    private String patientName;
+    private Long doctorId;
+    private String doctorName;
+    private LocalDate visitDate;
+    private String diagnosisHighlight;
+    private String symptomsHighlight;
+    private double rank;
+}
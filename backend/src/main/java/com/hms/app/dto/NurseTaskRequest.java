@@ -0,0 +1,17 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.NurseTaskPriority;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class NurseTaskRequest {
+    private Long patientId;
+    private Long appointmentId;
+    private Long nurseId;
+    private String taskType;
+    private String notes;
+    private NurseTaskPriority priority;
+    private LocalDateTime dueAt;
+}
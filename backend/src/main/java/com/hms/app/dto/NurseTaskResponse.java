@@ -0,0 +1,25 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.NurseTaskPriority;
+import com.hms.app.enums.NurseTaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NurseTaskResponse {
+    private Long taskId;
+    private Long patientId;
+    private String patientName;
+    private Long nurseId;
+    private String taskType;
+    private NurseTaskPriority priority;
+    private NurseTaskStatus status;
+    private LocalDateTime dueAt;
+}
@@ -0,0 +1,36 @@
+package com.hms.app.dto;
+
+/**
+ * Position in a relevance-ranked listing. Ranked results have no stable
+ * key to seek on, so the cursor is the number of rows already returned.
+ */
+public record OffsetCursor(int offset) {
+
+    public static final OffsetCursor FIRST = new OffsetCursor(0);
+
+    public String encode() {
+        return String.valueOf(offset);
+    }
+
+    // Null once the next page would start beyond maxOffset, so we never hand out a cursor decode() rejects
+    public OffsetCursor advance(int rows, int maxOffset) {
+        int next = offset + rows;
+        return next > maxOffset ? null : new OffsetCursor(next);
+    }
+
+    // Blank means the first page; deeper than maxOffset is rejected rather than scanned
+    public static OffsetCursor decode(String cursor, int maxOffset) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            int offset = Integer.parseInt(cursor.trim());
+            if (offset < 0 || offset > maxOffset) {
+                throw new NumberFormatException();
+            }
+            return new OffsetCursor(offset);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
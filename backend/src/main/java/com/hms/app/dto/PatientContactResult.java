@@ -0,0 +1,24 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor  // Used by JPQL constructor expressions - keep field order in sync
+public class PatientContactResult {
+    private Long patientId;
+    private String firstName;
+    private String lastName;
+    private BloodGroup bloodGroup;
+    private Gender gender;
+    private LocalDate dateOfBirth;
+    private String contactNumber;
+    private String emergencyContactName;
+    private String emergencyContactNumber;
+}
@@ -1,24 +1,40 @@
 package com.hms.app.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Sections that could not be loaded in time are left null (and omitted from
+ * the JSON) and named in unavailableSections, so the page still renders.
+ */
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PatientDashboardData {
+    private String status;
     private String welcomeMessage;
-    private int upcomingAppointments;
+    private Integer upcomingAppointments;
+    private Integer medicalRecordsCount;
+    private Integer activePrescriptions;
+    private BigDecimal outstandingBills;
     private LocalDateTime nextAppointment;
     private String nextAppointmentDoctor;
     private String redirectUrl;
     private List<UpcomingAppointment> appointments;
+    private PatientInfo patientInfo;
+    private List<String> unavailableSections;
 
     @Data
     @Builder
@@ -28,7 +44,35 @@ public class PatientDashboardData {
         private Long appointmentId;
         private String doctorName;
         private String specialization;
-        private LocalDateTime appointmentTime;
+        private LocalDateTime appointmentDateTime;
+        private String reason;
         private String status;
+        private DoctorInfo doctor;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class DoctorInfo {
+        private Long doctorId;
+        private String firstName;
+        private String lastName;
+        private String specialization;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PatientInfo {
+        private Long patientId;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private LocalDate dateOfBirth;
+        private Gender gender;
+        private String contactNumber;
+        private BloodGroup bloodGroup;
     }
 }
@@ -0,0 +1,25 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Demographic lookup criteria. Values within a set are alternatives (any of),
+ * different fields must all match; empty or null fields are ignored.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PatientDemographicFilter {
+    private Set<BloodGroup> bloodGroups;
+    private Set<Gender> genders;
+    private Integer minAge;  // inclusive, in whole years
+    private Integer maxAge;  // inclusive, in whole years
+}
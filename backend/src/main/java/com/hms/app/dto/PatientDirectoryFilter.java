@@ -0,0 +1,22 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for the patient directory; null fields are ignored.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PatientDirectoryFilter {
+    private BloodGroup bloodGroup;
+    private Gender gender;
+    private Integer minAge;  // inclusive, in whole years
+    private Integer maxAge;  // inclusive, in whole years
+}
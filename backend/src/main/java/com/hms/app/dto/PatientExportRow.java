@@ -0,0 +1,31 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor  // Used by JPQL constructor expressions - keep field order in sync
+public class PatientExportRow {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private LocalDate dateOfBirth;
+    private Gender gender;
+    private String phoneNumber;
+    private String address;
+    private BloodGroup bloodGroup;
+    private String emergencyContactName;
+    private String emergencyContactNumber;
+
+    // Same display format as PatientResponse.patientId
+    public String getPatientId() {
+        return PatientResponse.formatPatientId(id);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hms.app.dto;
 
+import com.hms.app.enums.BloodGroup;
 import com.hms.app.enums.Gender;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,11 +32,35 @@ public class PatientResponse {
     private String address;
 
     // Medical Information
-    private String bloodGroup;
+    private BloodGroup bloodGroup;
     private String emergencyContactName;
     private String emergencyContactNumber;
 
     // Status
     private String status;  // ACTIVE, INACTIVE, etc.
     private LocalDate lastVisit;
+
+    // Used by the patient directory's JPQL constructor expression - keep parameter order in sync
+    public PatientResponse(Long id, String patientId, Long userId, String firstName, String lastName, String email,
+                           LocalDate dateOfBirth, Integer age, Gender gender, String phoneNumber, String address,
+                           BloodGroup bloodGroup) {
+        this.id = id;
+        this.patientId = patientId;
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.fullName = firstName + " " + lastName;
+        this.email = email;
+        this.dateOfBirth = dateOfBirth;
+        this.age = age;
+        this.gender = gender;
+        this.phoneNumber = phoneNumber;
+        this.address = address;
+        this.bloodGroup = bloodGroup;
+        this.status = "ACTIVE";
+    }
+
+    public static String formatPatientId(Long id) {
+        return id == null ? null : "P-" + String.format("%06d", id);
+    }
 }
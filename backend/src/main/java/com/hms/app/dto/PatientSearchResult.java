@@ -0,0 +1,32 @@
+package com.hms.app.dto;
+
+import com.hms.app.enums.Gender;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class PatientSearchResult {
+    private Long patientId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String contactNumber;
+    private LocalDate dateOfBirth;
+    private Gender gender;
+    private double score;  // Match quality in [0, 1]; results are ordered by it
+
+    // Used by the JPQL constructor expression - keep parameter order in sync; score is set afterwards
+    public PatientSearchResult(Long patientId, String firstName, String lastName, String email,
+                               String contactNumber, LocalDate dateOfBirth, Gender gender) {
+        this.patientId = patientId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.contactNumber = contactNumber;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+    }
+}
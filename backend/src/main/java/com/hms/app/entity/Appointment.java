@@ -12,7 +12,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor  // ✅ Default constructor
 @AllArgsConstructor  // ✅ All-args constructor
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // Keyset order for the listing API, alone and behind each equality filter
+        @Index(name = "ix_appointments_date_id", columnList = "appointment_date_time, appointment_id"),
+        @Index(name = "ix_appointments_doctor_date_id", columnList = "doctor_id, appointment_date_time, appointment_id"),
+        @Index(name = "ix_appointments_patient_date_id", columnList = "patient_id, appointment_date_time, appointment_id"),
+        @Index(name = "ix_appointments_status_date_id", columnList = "status, appointment_date_time, appointment_id")
+})
 public class Appointment {
 
     @Id
@@ -0,0 +1,40 @@
+package com.hms.app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reservation of one doctor time slot by one appointment. The unique
+ * (doctor_id, slot_start) constraint is what actually prevents double
+ * booking, across threads and across instances.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "appointment_slots", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_appointment_slots_doctor_slot", columnNames = {"doctor_id", "slot_start"}),
+        @UniqueConstraint(name = "ux_appointment_slots_appointment", columnNames = {"appointment_id"})
+})
+public class AppointmentSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "slot_id")
+    private Long id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+}
@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "billing")
+@Table(name = "billing", indexes = {
+        @Index(name = "ix_billing_patient_issue_id", columnList = "patient_id, issue_date, bill_id")
+})
 public class Billing {
 
     @Id
@@ -0,0 +1,25 @@
+package com.hms.app.entity;
+
+import com.hms.app.enums.BloodGroup;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Keeps patients.blood_group as the human-readable label. Values that
+ * predate the enum are normalized by BloodGroupBackfillService at startup;
+ * anything still unrecognizable reads as null, and Patient's dynamic updates
+ * keep it from being overwritten unless the blood group itself is edited.
+ */
+@Converter
+public class BloodGroupConverter implements AttributeConverter<BloodGroup, String> {
+
+    @Override
+    public String convertToDatabaseColumn(BloodGroup bloodGroup) {
+        return bloodGroup != null ? bloodGroup.getLabel() : null;
+    }
+
+    @Override
+    public BloodGroup convertToEntityAttribute(String value) {
+        return BloodGroup.parse(value).orElse(null);
+    }
+}
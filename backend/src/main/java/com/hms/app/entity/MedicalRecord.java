@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "medical_records")
+@Table(name = "medical_records", indexes = {
+        @Index(name = "ix_medical_records_patient_visit_id", columnList = "patient_id, visit_date, record_id")
+})
 public class MedicalRecord {
 
     @Id
@@ -0,0 +1,84 @@
+package com.hms.app.entity;
+
+import com.hms.app.enums.NurseTaskPriority;
+import com.hms.app.enums.NurseTaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A unit of nursing work for one patient, optionally tied to the appointment
+ * that produced it and assigned to one nurse. Open tasks are mirrored in an
+ * in-memory priority queue per nurse; this table is the source of truth.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "nurse_tasks", indexes = {
+        @Index(name = "ix_nurse_tasks_status_nurse", columnList = "status, assigned_nurse_id"),
+        @Index(name = "ix_nurse_tasks_patient", columnList = "patient_id")
+})
+public class NurseTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "task_id")
+    private Long id;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id")
+    private Appointment appointment;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_nurse_id", referencedColumnName = "user_id")
+    private User assignedNurse;
+
+    @Column(name = "task_type", nullable = false, length = 100)
+    private String taskType;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NurseTaskPriority priority = NurseTaskPriority.NORMAL;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NurseTaskStatus status = NurseTaskStatus.PENDING;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Concurrent assign and status changes must not overwrite each other; also orders the change events
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (dueAt == null) dueAt = createdAt;
+    }
+}
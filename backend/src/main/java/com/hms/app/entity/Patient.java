@@ -1,13 +1,21 @@
 package com.hms.app.entity;
+import com.hms.app.enums.BloodGroup;
 import com.hms.app.enums.Gender;
+import com.hms.app.event.PatientLifecycleListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "patients")
+@DynamicUpdate  // Unrecognized legacy blood groups read as null; don't write them back on unrelated edits
+@EntityListeners(PatientLifecycleListener.class)
+@Table(name = "patients", indexes = {
+        @Index(name = "ix_patients_last_first_id", columnList = "last_name, first_name, patient_id"),
+        @Index(name = "ix_patients_blood_group", columnList = "blood_group")
+})
 public class Patient {
 
     @Id
@@ -31,7 +39,11 @@ public class Patient {
 
     private String contactNumber;
     private String address;
-    private String bloodGroup;
+
+    @Convert(converter = BloodGroupConverter.class)
+    @Column(length = 3)
+    private BloodGroup bloodGroup;
+
     private String emergencyContactName;
     private String emergencyContactNumber;
 
@@ -105,11 +117,11 @@ public class Patient {
         this.address = address;
     }
 
-    public String getBloodGroup() {
+    public BloodGroup getBloodGroup() {
         return bloodGroup;
     }
 
-    public void setBloodGroup(String bloodGroup) {
+    public void setBloodGroup(BloodGroup bloodGroup) {
         this.bloodGroup = bloodGroup;
     }
 
@@ -1,11 +1,14 @@
 package com.hms.app.entity;
 
 import com.hms.app.enums.Role;
+import com.hms.app.event.UserLifecycleListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,13 +16,19 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@EntityListeners(UserLifecycleListener.class)
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_email_normalized", columnList = "email_normalized", unique = true),
+        @Index(name = "ux_users_username_normalized", columnList = "username_normalized", unique = true)
+})
 public class User implements UserDetails {
 
     @Id
@@ -39,6 +48,13 @@ public class User implements UserDetails {
     @Column(unique = true, nullable = false)
     private String email;
 
+    // Canonical lowercase copies for index-friendly, case-insensitive lookups
+    @Column(name = "username_normalized")
+    private String usernameNormalized;
+
+    @Column(name = "email_normalized")
+    private String emailNormalized;
+
     @Column(name = "password_hash", nullable = false)
     private String password;
 
@@ -81,6 +97,22 @@ public class User implements UserDetails {
     @Column(name = "reset_token_expiry")
     private LocalDateTime resetTokenExpiry;
 
+    // Bumped whenever issued tokens must stop being trusted (disable, lock, password change)
+    @Builder.Default
+    @Column(name = "token_version")
+    private Integer tokenVersion = 0;
+
+    // Role and status as last read from or written to the row; maintained by UserLifecycleListener
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Role persistedRole;
+
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Boolean persistedActive;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -97,11 +129,24 @@ public class User implements UserDetails {
         if (credentialsNonExpired == null) credentialsNonExpired = true;
         if (enabled == null) enabled = true;
         if (isActive == null) isActive = true;
+        if (tokenVersion == null) tokenVersion = 0;
+
+        normalizeIdentifiers();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizeIdentifiers();
+    }
+
+    private void normalizeIdentifiers() {
+        usernameNormalized = normalizeIdentifier(username != null ? username : email);
+        emailNormalized = normalizeIdentifier(email);
+    }
+
+    public static String normalizeIdentifier(String identifier) {
+        return identifier == null ? null : identifier.trim().toLowerCase(Locale.ROOT);
     }
 
     // ==================== UserDetails Implementation ====================
@@ -169,12 +214,14 @@ public class User implements UserDetails {
         this.enabled = active;
         this.isActive = active;
         this.updatedAt = LocalDateTime.now();
+        if (!active) revokeTokens();
     }
 
     public void deactivate() {
         this.enabled = false;
         this.isActive = false;
         this.updatedAt = LocalDateTime.now();
+        revokeTokens();
     }
 
     public void activate() {
@@ -187,10 +234,28 @@ public class User implements UserDetails {
     public void lockAccount() {
         this.accountNonLocked = false;
         this.updatedAt = LocalDateTime.now();
+        revokeTokens();
     }
 
     public void unlockAccount() {
         this.accountNonLocked = true;
         this.updatedAt = LocalDateTime.now();
     }
+
+    // Issued tokens name the account by its login identifier, so changing one revokes them
+    public void changeLoginIdentifiers(String email, String username) {
+        boolean changed = !Objects.equals(normalizeIdentifier(email), normalizeIdentifier(this.email))
+                || !Objects.equals(normalizeIdentifier(username), normalizeIdentifier(this.username));
+        this.email = email;
+        this.username = username;
+        if (changed) revokeTokens();
+    }
+
+    public int currentTokenVersion() {
+        return tokenVersion != null ? tokenVersion : 0;
+    }
+
+    public void revokeTokens() {
+        this.tokenVersion = currentTokenVersion() + 1;
+    }
 }
@@ -0,0 +1,69 @@
+package com.hms.app.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ABO/Rh blood group. Stored and serialized as its label ("O-", "AB+").
+ */
+public enum BloodGroup {
+    A_POSITIVE("A+"),
+    A_NEGATIVE("A-"),
+    B_POSITIVE("B+"),
+    B_NEGATIVE("B-"),
+    AB_POSITIVE("AB+"),
+    AB_NEGATIVE("AB-"),
+    O_POSITIVE("O+"),
+    O_NEGATIVE("O-");
+
+    private final String label;
+
+    BloodGroup(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    // Strict for request input: blank means "not given", anything unrecognizable is rejected
+    @JsonCreator
+    public static BloodGroup fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return parse(value).orElseThrow(() -> new IllegalArgumentException("Unknown blood group: " + value));
+    }
+
+    /**
+     * Lenient parse for legacy free-text values: accepts labels, enum names
+     * and spellings like "o neg", "AB +ve" or "0-".
+     */
+    public static Optional<BloodGroup> parse(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String compact = value.toUpperCase(Locale.ROOT).replaceAll("[\\s_]", "")
+                .replace("POSITIVE", "+").replace("NEGATIVE", "-")
+                .replace("POS", "+").replace("NEG", "-")
+                .replace("VE", "");
+        if (compact.startsWith("0")) {
+            compact = "O" + compact.substring(1);
+        }
+        for (BloodGroup group : values()) {
+            if (group.label.equals(compact)) {
+                return Optional.of(group);
+            }
+        }
+        return Optional.empty();
+    }
+}
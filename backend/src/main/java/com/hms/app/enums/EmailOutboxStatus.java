@@ -0,0 +1,8 @@
+package com.hms.app.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
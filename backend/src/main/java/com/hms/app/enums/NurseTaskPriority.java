@@ -0,0 +1,9 @@
+package com.hms.app.enums;
+
+// Declaration order is queue order: URGENT tasks are served first
+public enum NurseTaskPriority {
+    URGENT,
+    HIGH,
+    NORMAL,
+    LOW
+}
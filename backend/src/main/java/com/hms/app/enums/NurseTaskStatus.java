@@ -0,0 +1,12 @@
+package com.hms.app.enums;
+
+public enum NurseTaskStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    CANCELED;
+
+    public boolean isOpen() {
+        return this == PENDING || this == IN_PROGRESS;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hms.app.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after an appointment is booked, moved, canceled or deleted.
+ * The previous and current slot fields are null when there was or is no
+ * reservation, so listeners can apply the change without reloading it.
+ */
+public record AppointmentChangedEvent(
+        Long appointmentId,
+        Long previousDoctorId,
+        LocalDateTime previousSlot,
+        Long doctorId,
+        LocalDateTime slot
+) {
+}
@@ -0,0 +1,27 @@
+package com.hms.app.event;
+
+import com.hms.app.enums.NurseTaskPriority;
+import com.hms.app.enums.NurseTaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a nurse task is created, reassigned or changes state.
+ * Carries the task's full current state (nurseId is null when unassigned),
+ * so the task queues can be updated without reloading it, plus the nurse it
+ * was assigned to before this change so that nurse can be told it's gone.
+ * The row version lets listeners drop events that arrive out of order.
+ */
+public record NurseTaskChangedEvent(
+        Long taskId,
+        Long nurseId,
+        Long previousNurseId,
+        Long patientId,
+        String patientName,
+        String taskType,
+        NurseTaskPriority priority,
+        NurseTaskStatus status,
+        LocalDateTime dueAt,
+        long version
+) {
+}
@@ -0,0 +1,20 @@
+package com.hms.app.event;
+
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@link PatientLifecycleListener} whenever a patient row is
+ * inserted, updated or deleted. Carries the demographics the in-memory
+ * index is keyed on, so listeners never have to reload the patient.
+ */
+public record PatientChangedEvent(
+        Long patientId,
+        BloodGroup bloodGroup,
+        Gender gender,
+        LocalDate dateOfBirth,
+        boolean removed
+) {
+}
@@ -0,0 +1,35 @@
+package com.hms.app.event;
+
+import com.hms.app.entity.Patient;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Patient}, resolved through Spring's bean container
+ * like {@link UserLifecycleListener}, so every save and delete is seen no
+ * matter which service made it.
+ */
+@Component
+public class PatientLifecycleListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PatientLifecycleListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Patient patient) {
+        eventPublisher.publishEvent(new PatientChangedEvent(patient.getPatientId(), patient.getBloodGroup(),
+                patient.getGender(), patient.getDateOfBirth(), false));
+    }
+
+    @PostRemove
+    public void onRemoved(Patient patient) {
+        eventPublisher.publishEvent(new PatientChangedEvent(patient.getPatientId(), null, null, null, true));
+    }
+}
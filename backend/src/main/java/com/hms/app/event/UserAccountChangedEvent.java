@@ -0,0 +1,8 @@
+package com.hms.app.event;
+
+/**
+ * Published whenever a user is created or their credentials, status or role
+ * change, so any cached view of that account can be dropped.
+ */
+public record UserAccountChangedEvent(Long userId) {
+}
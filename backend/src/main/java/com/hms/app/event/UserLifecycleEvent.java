@@ -0,0 +1,21 @@
+package com.hms.app.event;
+
+import com.hms.app.enums.Role;
+
+/**
+ * Published by {@link UserLifecycleListener} whenever a user row is inserted,
+ * updated or deleted. Carries the state that the user counters depend on,
+ * before and after the change, so listeners can apply a delta without
+ * reloading the user or remembering every user themselves. previousRole is
+ * null for a new user, or when the previous state is unknown.
+ */
+public record UserLifecycleEvent(
+        Long userId,
+        Role role,
+        boolean active,
+        Role previousRole,
+        boolean previousActive,
+        boolean created,
+        boolean removed
+) {
+}
@@ -0,0 +1,59 @@
+package com.hms.app.event;
+
+import com.hms.app.entity.User;
+import com.hms.app.enums.Role;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User}. Hibernate resolves it through Spring's bean
+ * container, so it catches every save and delete, including ones that don't
+ * publish a {@link UserAccountChangedEvent}.
+ */
+@Component
+public class UserLifecycleListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserLifecycleListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void onLoaded(User user) {
+        remember(user);
+    }
+
+    @PostPersist
+    public void onCreated(User user) {
+        eventPublisher.publishEvent(new UserLifecycleEvent(
+                user.getId(), user.getRole(), user.isEnabled(), null, false, true, false));
+        remember(user);
+    }
+
+    @PostUpdate
+    public void onUpdated(User user) {
+        eventPublisher.publishEvent(new UserLifecycleEvent(
+                user.getId(), user.getRole(), user.isEnabled(),
+                user.getPersistedRole(), Boolean.TRUE.equals(user.getPersistedActive()), false, false));
+        remember(user);
+    }
+
+    @PostRemove
+    public void onRemoved(User user) {
+        Role previousRole = user.getPersistedRole() != null ? user.getPersistedRole() : user.getRole();
+        boolean previousActive = user.getPersistedActive() != null ? user.getPersistedActive() : user.isEnabled();
+        eventPublisher.publishEvent(new UserLifecycleEvent(
+                user.getId(), user.getRole(), false, previousRole, previousActive, false, true));
+    }
+
+    // What the row holds now, so the next update can report the transition
+    private static void remember(User user) {
+        user.setPersistedRole(user.getRole());
+        user.setPersistedActive(user.isEnabled());
+    }
+}
@@ -3,6 +3,7 @@ package com.hms.app.exception;
 import com.hms.app.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -36,6 +37,28 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    // Invalid query input (unknown status, bad cursor or sort, blank search term) is the caller's mistake
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<ErrorDetails>> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        log.warn("Invalid request: {}", ex.getMessage());
+
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
+        ApiResponse<ErrorDetails> response = new ApiResponse<>("Invalid request", errorDetails, false);
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    // Someone else changed the row since it was read; the client should reload and retry
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<ErrorDetails>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, WebRequest request) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), "The resource was changed by someone else, reload and try again", request.getDescription(false));
+        ApiResponse<ErrorDetails> response = new ApiResponse<>("Conflicting update", errorDetails, false);
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiResponse<ErrorDetails>> handleBadCredentialsException(BadCredentialsException ex, WebRequest request) {
         log.error("Authentication error: {}", ex.getMessage());
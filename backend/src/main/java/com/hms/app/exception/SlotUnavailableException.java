@@ -0,0 +1,16 @@
+package com.hms.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT) // Doctor already has an appointment in this slot
+public class SlotUnavailableException extends RuntimeException {
+
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+
+    public SlotUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.AppointmentCursor;
+import com.hms.app.dto.AppointmentFilter;
+import com.hms.app.dto.AppointmentResponse;
+
+import java.util.List;
+
+public interface AppointmentQueryRepository {
+
+    // One row per appointment with patient/doctor names joined in - no entities, no lazy loads
+    String SELECT_RESPONSE =
+            "SELECT new com.hms.app.dto.AppointmentResponse(" +
+            "a.appointmentId, p.patientId, CONCAT(p.firstName, ' ', p.lastName), " +
+            "d.doctorId, CONCAT(d.firstName, ' ', d.lastName), " +
+            "a.appointmentDateTime, a.reason, a.status) " +
+            "FROM Appointment a JOIN a.patient p JOIN a.doctor d";
+
+    /**
+     * Newest-first keyset page: rows strictly after {@code after} in
+     * (appointmentDateTime DESC, appointmentId DESC) order. Pass null for
+     * the first page.
+     */
+    List<AppointmentResponse> findPage(AppointmentFilter filter, AppointmentCursor after, int limit);
+}
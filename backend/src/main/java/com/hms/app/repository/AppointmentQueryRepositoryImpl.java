@@ -0,0 +1,69 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.AppointmentCursor;
+import com.hms.app.dto.AppointmentFilter;
+import com.hms.app.dto.AppointmentResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the listing query with only the filters actually present, so each
+ * combination can use its matching (filter column, appointment_date_time,
+ * appointment_id) index instead of a catch-all "param IS NULL OR ..." plan.
+ */
+public class AppointmentQueryRepositoryImpl implements AppointmentQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentResponse> findPage(AppointmentFilter filter, AppointmentCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                predicates.add("a.status = :status");
+                params.put("status", filter.getStatus());
+            }
+            if (filter.getDoctorId() != null) {
+                predicates.add("d.doctorId = :doctorId");
+                params.put("doctorId", filter.getDoctorId());
+            }
+            if (filter.getPatientId() != null) {
+                predicates.add("p.patientId = :patientId");
+                params.put("patientId", filter.getPatientId());
+            }
+            if (filter.getFrom() != null) {
+                predicates.add("a.appointmentDateTime >= :from");
+                params.put("from", filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                predicates.add("a.appointmentDateTime < :to");
+                params.put("to", filter.getTo());
+            }
+        }
+        if (after != null) {
+            predicates.add("(a.appointmentDateTime < :cursorTime " +
+                    "OR (a.appointmentDateTime = :cursorTime AND a.appointmentId < :cursorId))");
+            params.put("cursorTime", after.appointmentDateTime());
+            params.put("cursorId", after.appointmentId());
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT_RESPONSE);
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        jpql.append(" ORDER BY a.appointmentDateTime DESC, a.appointmentId DESC");
+
+        TypedQuery<AppointmentResponse> query = entityManager.createQuery(jpql.toString(), AppointmentResponse.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
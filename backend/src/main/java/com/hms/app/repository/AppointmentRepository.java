@@ -1,9 +1,11 @@
 package com.hms.app.repository;
 
+import com.hms.app.dto.AppointmentResponse;
 import com.hms.app.entity.Appointment;
 import com.hms.app.entity.Doctor;
 import com.hms.app.entity.Patient;
 import com.hms.app.enums.AppointmentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,9 +13,10 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentQueryRepository {
 
     // Find by entity (existing)
     List<Appointment> findByPatient(Patient patient);
@@ -26,6 +29,18 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a WHERE a.doctor.doctorId = :doctorId")
     List<Appointment> findByDoctorId(@Param("doctorId") Long doctorId);
 
+    // Projections for the appointment API - one query regardless of row count
+    @Query(SELECT_RESPONSE + " WHERE a.appointmentId = :id")
+    Optional<AppointmentResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + " WHERE p.patientId = :patientId " +
+            "ORDER BY a.appointmentDateTime DESC, a.appointmentId DESC")
+    List<AppointmentResponse> findResponsesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(SELECT_RESPONSE + " WHERE d.doctorId = :doctorId " +
+            "ORDER BY a.appointmentDateTime DESC, a.appointmentId DESC")
+    List<AppointmentResponse> findResponsesByDoctorId(@Param("doctorId") Long doctorId);
+
     // Find by date range
     List<Appointment> findByAppointmentDateTimeBetween(LocalDateTime start, LocalDateTime end);
 
@@ -42,6 +57,16 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("now") LocalDateTime now
     );
 
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor WHERE a.patient.patientId = :patientId " +
+            "AND a.appointmentDateTime > :now " +
+            "AND a.status = com.hms.app.enums.AppointmentStatus.SCHEDULED " +
+            "ORDER BY a.appointmentDateTime ASC, a.appointmentId ASC")
+    List<Appointment> findNextScheduledByPatientId(
+            @Param("patientId") Long patientId,
+            @Param("now") LocalDateTime now,
+            Limit limit
+    );
+
     // ✅ ADDED: Count by patient and status
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.patient.patientId = :patientId " +
             "AND a.status = :status AND a.appointmentDateTime > :afterDate")
@@ -51,8 +76,24 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("afterDate") LocalDateTime afterDate
     );
 
-    // ✅ ADDED: Find top 5 recent by patient
-    @Query("SELECT a FROM Appointment a WHERE a.patient.patientId = :patientId " +
-            "ORDER BY a.appointmentDateTime DESC")
-    List<Appointment> findTop5ByPatientOrderByAppointmentTimeDesc(@Param("patientId") Long patientId);
+    // Doctor/time of every active appointment in a window - used to build the availability index
+    @Query("SELECT a.doctor.doctorId AS doctorId, a.appointmentDateTime AS appointmentDateTime " +
+            "FROM Appointment a WHERE a.status <> com.hms.app.enums.AppointmentStatus.CANCELED " +
+            "AND a.appointmentDateTime >= :from AND a.appointmentDateTime < :to")
+    List<BookedTime> findBookedTimesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Most recent N for a patient; the limit goes into SQL and ix_appointments_patient_date_id is read backwards
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor WHERE a.patient.patientId = :patientId " +
+            "ORDER BY a.appointmentDateTime DESC, a.appointmentId DESC")
+    List<Appointment> findRecentByPatientId(@Param("patientId") Long patientId, Limit limit);
+
+    // Ids of the appointments holding a slot in the window - seeds the daily appointment counter
+    @Query("SELECT a.appointmentId FROM Appointment a WHERE a.status <> com.hms.app.enums.AppointmentStatus.CANCELED " +
+            "AND a.appointmentDateTime >= :from AND a.appointmentDateTime < :to")
+    List<Long> findActiveIdsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface BookedTime {
+        Long getDoctorId();
+        LocalDateTime getAppointmentDateTime();
+    }
 }
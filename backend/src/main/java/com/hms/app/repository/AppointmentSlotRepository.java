@@ -0,0 +1,24 @@
+package com.hms.app.repository;
+
+import com.hms.app.entity.AppointmentSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot, Long> {
+
+    Optional<AppointmentSlot> findByAppointmentId(Long appointmentId);
+
+    Optional<AppointmentSlot> findByDoctorIdAndSlotStart(Long doctorId, LocalDateTime slotStart);
+
+    // Immediate DELETE, so a following insert of the same key can't be reordered before it at flush
+    @Modifying
+    @Query("DELETE FROM AppointmentSlot s WHERE s.appointmentId = :appointmentId")
+    int deleteByAppointmentId(@Param("appointmentId") Long appointmentId);
+}
@@ -3,9 +3,13 @@ package com.hms.app.repository;
 
 import com.hms.app.entity.Billing;
 import com.hms.app.entity.Patient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 
@@ -13,4 +17,13 @@ import java.util.List;
 public interface BillingRepository extends JpaRepository<Billing, Long> {
 
     List<Billing> findByPatient(Patient patient);
+
+    @Query("SELECT COALESCE(SUM(b.totalAmount - COALESCE(b.amountPaid, 0)), 0) FROM Billing b " +
+            "WHERE b.patient.patientId = :patientId AND b.status <> com.hms.app.enums.BillingStatus.PAID")
+    BigDecimal sumOutstandingByPatientId(@Param("patientId") Long patientId);
+
+    // Most recent N bills for a patient, limited in SQL
+    @Query("SELECT b FROM Billing b WHERE b.patient.patientId = :patientId " +
+            "ORDER BY b.issueDate DESC, b.billId DESC")
+    List<Billing> findRecentByPatientId(@Param("patientId") Long patientId, Limit limit);
 }
@@ -2,10 +2,86 @@ package com.hms.app.repository;
 
 import com.hms.app.entity.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
+    // Lightweight rows for the in-memory availability index
+    @Query("SELECT d.doctorId AS doctorId, d.firstName AS firstName, d.lastName AS lastName, " +
+            "d.specialization AS specialization, dep.departmentId AS departmentId " +
+            "FROM Doctor d LEFT JOIN d.department dep WHERE d.available = true")
+    List<DoctorSummary> findAvailableDoctorSummaries();
+
+    @Query("SELECT d.doctorId FROM Doctor d JOIN d.user u " +
+            "WHERE u.emailNormalized = :identifier OR u.usernameNormalized = :identifier")
+    Optional<Long> findDoctorIdByUserIdentifier(@Param("identifier") String normalizedIdentifier);
+
+    /**
+     * Doctor dashboard in one round trip: one row per appointment today,
+     * each carrying the doctor's counts, or a single row with a null
+     * appointment when the day is empty. No rows means no such doctor.
+     * Canceled appointments aren't counted for today, as in the admin statistics.
+     */
+    @Query(value = """
+            WITH doc AS (
+                SELECT d.doctor_id, d.first_name, d.last_name
+                FROM doctors d WHERE d.doctor_id = :doctorId
+            ), stats AS (
+                SELECT COUNT(*) FILTER (WHERE a.appointment_date_time >= :dayStart
+                                          AND a.appointment_date_time < :dayEnd
+                                          AND a.status <> 'CANCELED') AS today_count,
+                       COUNT(*) FILTER (WHERE a.appointment_date_time >= :now
+                                          AND a.status = 'SCHEDULED') AS upcoming_count,
+                       COUNT(DISTINCT a.patient_id) AS patient_count
+                FROM appointments a JOIN doc ON a.doctor_id = doc.doctor_id
+            )
+            SELECT doc.doctor_id AS doctorId, doc.first_name AS firstName, doc.last_name AS lastName,
+                   s.today_count AS todayCount, s.upcoming_count AS upcomingCount, s.patient_count AS patientCount,
+                   t.appointment_id AS appointmentId, t.patient_name AS patientName,
+                   t.appointment_date_time AS appointmentTime, t.reason AS reason, t.status AS status
+            FROM doc CROSS JOIN stats s
+            LEFT JOIN LATERAL (
+                SELECT a.appointment_id, CONCAT(p.first_name, ' ', p.last_name) AS patient_name,
+                       a.appointment_date_time, a.reason, a.status
+                FROM appointments a JOIN patients p ON p.patient_id = a.patient_id
+                WHERE a.doctor_id = doc.doctor_id
+                  AND a.appointment_date_time >= :dayStart AND a.appointment_date_time < :dayEnd
+            ) t ON true
+            ORDER BY t.appointment_date_time, t.appointment_id
+            """, nativeQuery = true)
+    List<DoctorDashboardRow> findDashboardRows(
+            @Param("doctorId") Long doctorId,
+            @Param("dayStart") LocalDateTime dayStart,
+            @Param("dayEnd") LocalDateTime dayEnd,
+            @Param("now") LocalDateTime now);
+
+    interface DoctorDashboardRow {
+        Long getDoctorId();
+        String getFirstName();
+        String getLastName();
+        Long getTodayCount();
+        Long getUpcomingCount();
+        Long getPatientCount();
+        Long getAppointmentId();
+        String getPatientName();
+        LocalDateTime getAppointmentTime();
+        String getReason();
+        String getStatus();
+    }
+
+    interface DoctorSummary {
+        Long getDoctorId();
+        String getFirstName();
+        String getLastName();
+        String getSpecialization();
+        Long getDepartmentId();
+    }
 }
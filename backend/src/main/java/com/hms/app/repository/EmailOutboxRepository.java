@@ -0,0 +1,58 @@
+package com.hms.app.repository;
+
+import com.hms.app.entity.EmailOutboxMessage;
+import com.hms.app.enums.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Due rows, including SENDING rows whose lease ran out; SKIP LOCKED lets several instances drain in parallel
+    @Query(value = "SELECT * FROM email_outbox " +
+            "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EmailOutboxMessage> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = com.hms.app.enums.EmailOutboxStatus.SENT, " +
+            "m.sentAt = :now, m.lastError = NULL WHERE m.id = :id")
+    int markSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.attempts = :attempts, " +
+            "m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") EmailOutboxStatus status,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    long countByStatusIn(List<EmailOutboxStatus> statuses);
+
+    @Query("SELECT MIN(m.createdAt) FROM EmailOutboxMessage m WHERE m.status IN :statuses")
+    LocalDateTime findOldestCreatedAt(@Param("statuses") List<EmailOutboxStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m " +
+            "WHERE m.status = com.hms.app.enums.EmailOutboxStatus.SENT AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // DEAD rows keep their last attempt time in nextAttemptAt
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m " +
+            "WHERE m.status = com.hms.app.enums.EmailOutboxStatus.DEAD AND m.nextAttemptAt < :cutoff")
+    int deleteDeadBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,16 +2,24 @@ package com.hms.app.repository;
 
 import com.hms.app.entity.MedicalRecord;
 import com.hms.app.entity.Patient;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
+public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long>, MedicalRecordSearchRepository {
 
     List<MedicalRecord> findByPatient(Patient patient);
 
     // ✅ ADDED: Count medical records for a patient
     int countByPatient(Patient patient);
+
+    // Most recent N records for a patient, limited in SQL
+    @Query("SELECT mr FROM MedicalRecord mr WHERE mr.patient.patientId = :patientId " +
+            "ORDER BY mr.visitDate DESC, mr.recordId DESC")
+    List<MedicalRecord> findRecentByPatientId(@Param("patientId") Long patientId, Limit limit);
 }
@@ -0,0 +1,19 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.MedicalRecordSearchFilter;
+import com.hms.app.dto.MedicalRecordSearchResult;
+
+import java.util.List;
+
+public interface MedicalRecordSearchRepository {
+
+    // Text search configuration for both the stored search_vector and the queries against it
+    String TEXT_SEARCH_CONFIG = "english";
+
+    /**
+     * Records whose diagnosis or symptoms match {@code query} (web search
+     * syntax: words, "quoted phrases", -excluded, or), best match first.
+     * Diagnosis hits outrank symptom hits.
+     */
+    List<MedicalRecordSearchResult> search(String query, MedicalRecordSearchFilter filter, int offset, int limit);
+}
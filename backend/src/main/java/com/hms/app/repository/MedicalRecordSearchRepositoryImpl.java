@@ -0,0 +1,125 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.MedicalRecordSearchFilter;
+import com.hms.app.dto.MedicalRecordSearchResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.web.util.HtmlUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches against the GIN-indexed medical_records.search_vector maintained
+ * by Postgres itself. Ranking and paging happen first, and ts_headline - the
+ * expensive part, since it re-parses the text - only runs for the rows on
+ * the returned page. Filters are added only when present, as in
+ * AppointmentQueryRepositoryImpl.
+ */
+public class MedicalRecordSearchRepositoryImpl implements MedicalRecordSearchRepository {
+
+    // Control characters can't occur in escaped output, so they mark matches until escaping is done
+    private static final String MATCH_START = "\u0001";
+    private static final String MATCH_END = "\u0002";
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=" + MATCH_START + ", StopSel=" + MATCH_END + ", MaxFragments=2, MaxWords=25, MinWords=8";
+
+    private static final String TS_QUERY = "websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', :q)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MedicalRecordSearchResult> search(String query, MedicalRecordSearchFilter filter, int offset, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        predicates.add("mr.search_vector @@ " + TS_QUERY);
+        params.put("q", query);
+
+        boolean joinAppointment = false;
+        if (filter != null) {
+            if (filter.getPatientId() != null) {
+                predicates.add("mr.patient_id = :patientId");
+                params.put("patientId", filter.getPatientId());
+            }
+            if (filter.getDoctorId() != null) {
+                joinAppointment = true;
+                predicates.add("a.doctor_id = :doctorId");
+                params.put("doctorId", filter.getDoctorId());
+            }
+            if (filter.getFrom() != null) {
+                predicates.add("mr.visit_date >= :from");
+                params.put("from", filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                predicates.add("mr.visit_date <= :to");
+                params.put("to", filter.getTo());
+            }
+        }
+
+        String sql = "WITH hits AS (" +
+                "  SELECT mr.record_id, mr.visit_date, ts_rank_cd(mr.search_vector, " + TS_QUERY + ") AS rank" +
+                "  FROM medical_records mr" +
+                (joinAppointment ? " JOIN appointments a ON a.appointment_id = mr.appointment_id" : "") +
+                "  WHERE " + String.join(" AND ", predicates) +
+                "  ORDER BY rank DESC, mr.visit_date DESC NULLS LAST, mr.record_id DESC" +
+                "  OFFSET :skip LIMIT :take" +
+                ") " +
+                "SELECT h.record_id, p.patient_id, p.first_name || ' ' || p.last_name, " +
+                "  d.doctor_id, d.first_name || ' ' || d.last_name, h.visit_date, " +
+                "  ts_headline('" + TEXT_SEARCH_CONFIG + "', coalesce(mr.diagnosis, ''), " + TS_QUERY + ", :options), " +
+                "  ts_headline('" + TEXT_SEARCH_CONFIG + "', coalesce(mr.symptoms, ''), " + TS_QUERY + ", :options), " +
+                "  h.rank " +
+                "FROM hits h " +
+                "JOIN medical_records mr ON mr.record_id = h.record_id " +
+                "JOIN patients p ON p.patient_id = mr.patient_id " +
+                "LEFT JOIN appointments a ON a.appointment_id = mr.appointment_id " +
+                "LEFT JOIN doctors d ON d.doctor_id = a.doctor_id " +
+                "ORDER BY h.rank DESC, h.visit_date DESC NULLS LAST, h.record_id DESC";
+
+        Query nativeQuery = entityManager.createNativeQuery(sql);
+        params.forEach(nativeQuery::setParameter);
+        nativeQuery.setParameter("skip", offset);
+        nativeQuery.setParameter("take", limit);
+        nativeQuery.setParameter("options", HEADLINE_OPTIONS);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        List<MedicalRecordSearchResult> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            results.add(MedicalRecordSearchResult.builder()
+                    .recordId(((Number) row[0]).longValue())
+                    .patientId(((Number) row[1]).longValue())
+                    .patientName((String) row[2])
+                    .doctorId(row[3] != null ? ((Number) row[3]).longValue() : null)
+                    .doctorName((String) row[4])
+                    .visitDate(toLocalDate(row[5]))
+                    .diagnosisHighlight(highlight((String) row[6]))
+                    .symptomsHighlight(highlight((String) row[7]))
+                    .rank(((Number) row[8]).doubleValue())
+                    .build());
+        }
+        return results;
+    }
+
+    private static String highlight(String headline) {
+        if (headline == null || headline.isBlank()) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(MATCH_START, "<mark>")
+                .replace(MATCH_END, "</mark>");
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
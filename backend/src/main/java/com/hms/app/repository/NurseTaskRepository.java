@@ -0,0 +1,46 @@
+package com.hms.app.repository;
+
+import com.hms.app.entity.NurseTask;
+import com.hms.app.enums.NurseTaskPriority;
+import com.hms.app.enums.NurseTaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NurseTaskRepository extends JpaRepository<NurseTask, Long> {
+
+    @Query("SELECT t FROM NurseTask t JOIN FETCH t.patient LEFT JOIN FETCH t.assignedNurse WHERE t.id = :id")
+    Optional<NurseTask> findByIdWithPatientAndNurse(@Param("id") Long id);
+
+    // Flat rows of every assigned task in the given states - used to build the in-memory queues
+    @Query("SELECT t.id AS taskId, n.id AS nurseId, p.patientId AS patientId, " +
+            "CONCAT(p.firstName, ' ', p.lastName) AS patientName, t.taskType AS taskType, " +
+            "t.priority AS priority, t.status AS status, t.dueAt AS dueAt, t.version AS version " +
+            "FROM NurseTask t JOIN t.patient p JOIN t.assignedNurse n WHERE t.status IN :statuses")
+    List<QueuedTaskRow> findAssignedTaskRows(@Param("statuses") Collection<NurseTaskStatus> statuses);
+
+    // Tasks outlive the appointment that produced it; the care is still owed to the patient
+    @Modifying
+    @Query("UPDATE NurseTask t SET t.appointment = NULL WHERE t.appointment.appointmentId = :appointmentId")
+    int detachFromAppointment(@Param("appointmentId") Long appointmentId);
+
+    interface QueuedTaskRow {
+        Long getTaskId();
+        Long getNurseId();
+        Long getPatientId();
+        String getPatientName();
+        String getTaskType();
+        NurseTaskPriority getPriority();
+        NurseTaskStatus getStatus();
+        LocalDateTime getDueAt();
+        Long getVersion();
+    }
+}
@@ -0,0 +1,22 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.PatientDirectoryFilter;
+import com.hms.app.dto.PatientResponse;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PatientDirectoryRepository {
+
+    /**
+     * One directory page as PatientResponse rows built in the query itself,
+     * with the "P-000001" display id and age in years computed by the database.
+     * Sortable by id, firstName, lastName, dateOfBirth and age; ties are
+     * broken by id so pages don't overlap.
+     */
+    List<PatientResponse> findDirectoryPage(PatientDirectoryFilter filter, LocalDate today, Sort sort,
+                                            int offset, int limit);
+
+    long countDirectory(PatientDirectoryFilter filter, LocalDate today);
+}
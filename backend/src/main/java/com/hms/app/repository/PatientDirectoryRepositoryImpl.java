@@ -0,0 +1,120 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.PatientDirectoryFilter;
+import com.hms.app.dto.PatientResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Selects only the columns the directory shows. Age filters are turned into
+ * date_of_birth bounds so they stay sargable; only the displayed age is
+ * computed per row. Both use the caller's {@code today}, never the database
+ * clock, so a row that passes an age filter always shows an age inside it.
+ */
+public class PatientDirectoryRepositoryImpl implements PatientDirectoryRepository {
+
+    private static final String DISPLAY_ID =
+            "CONCAT('P-', CASE WHEN p.patientId < 1000000 " +
+            "THEN pad(CAST(p.patientId AS String) WITH 6 LEADING '0') " +
+            "ELSE CAST(p.patientId AS String) END)";
+
+    private static final String AGE =
+            "(:todayYear - year(p.dateOfBirth) - CASE " +
+            "WHEN :todayMonth < month(p.dateOfBirth) " +
+            "OR (:todayMonth = month(p.dateOfBirth) AND :todayDay < day(p.dateOfBirth)) " +
+            "THEN 1 ELSE 0 END)";
+
+    private static final String SELECT_RESPONSE =
+            "SELECT new com.hms.app.dto.PatientResponse(" +
+            "p.patientId, " + DISPLAY_ID + ", u.id, p.firstName, p.lastName, u.email, " +
+            "p.dateOfBirth, " + AGE + ", p.gender, p.contactNumber, p.address, p.bloodGroup) " +
+            "FROM Patient p LEFT JOIN p.user u";
+
+    // Whitelist of sortable properties; age sorts by birth date in the opposite direction
+    private static final Map<String, String> SORT_PATHS = Map.of(
+            "id", "p.patientId",
+            "firstName", "p.firstName",
+            "lastName", "p.lastName",
+            "dateOfBirth", "p.dateOfBirth",
+            "age", "p.dateOfBirth"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PatientResponse> findDirectoryPage(PatientDirectoryFilter filter, LocalDate today, Sort sort,
+                                                   int offset, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("todayYear", today.getYear());
+        params.put("todayMonth", today.getMonthValue());
+        params.put("todayDay", today.getDayOfMonth());
+        String jpql = SELECT_RESPONSE + where(filter, today, params) + orderBy(sort);
+
+        TypedQuery<PatientResponse> query = entityManager.createQuery(jpql, PatientResponse.class);
+        params.forEach(query::setParameter);
+        return query.setFirstResult(offset).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countDirectory(PatientDirectoryFilter filter, LocalDate today) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        // No join needed: every filter is on patients
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(p) FROM Patient p" + where(filter, today, params), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static String where(PatientDirectoryFilter filter, LocalDate today, Map<String, Object> params) {
+        List<String> predicates = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getBloodGroup() != null) {
+                predicates.add("p.bloodGroup = :bloodGroup");
+                params.put("bloodGroup", filter.getBloodGroup());
+            }
+            if (filter.getGender() != null) {
+                predicates.add("p.gender = :gender");
+                params.put("gender", filter.getGender());
+            }
+            if (filter.getMinAge() != null) {
+                // At least minAge years old: born on or before today minus minAge years
+                predicates.add("p.dateOfBirth <= :bornOnOrBefore");
+                params.put("bornOnOrBefore", today.minusYears(filter.getMinAge()));
+            }
+            if (filter.getMaxAge() != null) {
+                // Not yet maxAge + 1: born after today minus (maxAge + 1) years
+                predicates.add("p.dateOfBirth > :bornAfter");
+                params.put("bornAfter", today.minusYears(filter.getMaxAge() + 1L));
+            }
+        }
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner order = new StringJoiner(", ", " ORDER BY ", "");
+        boolean byId = false;
+        for (Sort.Order o : sort) {
+            String path = SORT_PATHS.get(o.getProperty());
+            if (path == null) {
+                throw new IllegalArgumentException("Cannot sort patients by: " + o.getProperty());
+            }
+            boolean ascending = o.isAscending() != "age".equals(o.getProperty());
+            order.add(path + (ascending ? " ASC" : " DESC"));
+            byId |= "id".equals(o.getProperty());
+        }
+        if (!byId) {
+            order.add("p.patientId ASC");
+        }
+        return order.toString();
+    }
+}
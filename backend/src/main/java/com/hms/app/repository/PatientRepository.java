@@ -1,16 +1,27 @@
 package com.hms.app.repository;
 
+import com.hms.app.dto.PatientContactResult;
+import com.hms.app.dto.PatientExportRow;
 import com.hms.app.entity.Patient;
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientSearchRepository,
+        PatientDirectoryRepository {
 
     Optional<Patient> findByUserId(Long userId);
 
@@ -18,14 +29,35 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     @Query("SELECT p FROM Patient p WHERE p.user.id = :userId")
     Optional<Patient> findByUser_Id(@Param("userId") Long userId);
 
-    @Query("SELECT p FROM Patient p LEFT JOIN FETCH p.user")
-    List<Patient> findAllWithUser();
-
-    @Query("SELECT p FROM Patient p JOIN p.user u WHERE " +
-            "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))")
-    List<Patient> searchPatients(@Param("search") String search);
-
-    List<Patient> findByBloodGroup(String bloodGroup);
+    // Patient and account in one statement, keyed by the normalized login name or email
+    @Query("SELECT p FROM Patient p JOIN FETCH p.user u " +
+            "WHERE u.emailNormalized = :identifier OR u.usernameNormalized = :identifier")
+    Optional<Patient> findByUserIdentifier(@Param("identifier") String normalizedIdentifier);
+
+    // Forward-only cursor over every patient: rows are fetched in batches and nothing is kept in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.hms.app.dto.PatientExportRow(p.patientId, p.firstName, p.lastName, u.email, " +
+            "p.dateOfBirth, p.gender, p.contactNumber, p.address, p.bloodGroup, " +
+            "p.emergencyContactName, p.emergencyContactNumber) " +
+            "FROM Patient p LEFT JOIN p.user u ORDER BY p.patientId")
+    Stream<PatientExportRow> streamExportRows();
+
+    // Demographics of every patient - seeds the in-memory demographic index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.patientId AS patientId, p.bloodGroup AS bloodGroup, p.gender AS gender, " +
+            "p.dateOfBirth AS dateOfBirth FROM Patient p")
+    Stream<DemographicRow> streamDemographicRows();
+
+    // Contact details for the patients a demographic lookup selected
+    @Query("SELECT new com.hms.app.dto.PatientContactResult(p.patientId, p.firstName, p.lastName, p.bloodGroup, " +
+            "p.gender, p.dateOfBirth, p.contactNumber, p.emergencyContactName, p.emergencyContactNumber) " +
+            "FROM Patient p WHERE p.patientId IN :ids ORDER BY p.patientId")
+    List<PatientContactResult> findContactRows(@Param("ids") Collection<Long> ids);
+
+    interface DemographicRow {
+        Long getPatientId();
+        BloodGroup getBloodGroup();
+        Gender getGender();
+        LocalDate getDateOfBirth();
+    }
 }
@@ -0,0 +1,16 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.PatientSearchResult;
+
+import java.util.List;
+
+public interface PatientSearchRepository {
+
+    /**
+     * Patients whose name or email resembles {@code normalizedQuery}
+     * (trimmed, lower-cased), best match first. Tolerates typos when the
+     * pg_trgm extension is installed; otherwise falls back to substring
+     * matching. Ties are broken by patient id so pages are stable.
+     */
+    List<PatientSearchResult> searchRanked(String normalizedQuery, int offset, int limit);
+}
@@ -0,0 +1,129 @@
+package com.hms.app.repository;
+
+import com.hms.app.dto.PatientSearchResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks candidates with pg_trgm so the GIN indexes created by
+ * PatientSearchIndexInitializer do the matching instead of a full scan.
+ * Name and email candidates are collected separately and unioned, since an
+ * OR across the patients/users join would stop either index from being used.
+ * Only ids and scores come back from the ranking query; the page is then
+ * loaded as DTOs in one JPQL statement.
+ */
+@Slf4j
+public class PatientSearchRepositoryImpl implements PatientSearchRepository {
+
+    // Must stay identical to the indexed expression, or the planner won't use ix_patients_name_trgm
+    private static final String NAME = "lower(p.first_name || ' ' || p.last_name)";
+
+    private static final String TRIGRAM_SQL =
+            "WITH candidates AS (" +
+            "  SELECT p.patient_id FROM patients p " +
+            "  WHERE " + NAME + " % :q OR :q <% " + NAME + " OR " + NAME + " LIKE :prefix " +
+            "  UNION " +
+            "  SELECT p.patient_id FROM users u JOIN patients p ON p.user_id = u.user_id " +
+            "  WHERE u.email_normalized % :q OR u.email_normalized LIKE :prefix" +
+            ") " +
+            "SELECT p.patient_id, GREATEST(" +
+            "  similarity(" + NAME + ", :q), " +
+            "  word_similarity(:q, " + NAME + "), " +
+            "  similarity(coalesce(u.email_normalized, ''), :q)) AS score " +
+            "FROM candidates c " +
+            "JOIN patients p ON p.patient_id = c.patient_id " +
+            "LEFT JOIN users u ON u.user_id = p.user_id " +
+            "ORDER BY score DESC, p.patient_id";
+
+    // Without pg_trgm: plain substring match, prefix hits ranked first
+    private static final String LIKE_SQL =
+            "SELECT p.patient_id, " +
+            "  CASE WHEN " + NAME + " LIKE :prefix OR u.email_normalized LIKE :prefix THEN 1.0 ELSE 0.5 END AS score " +
+            "FROM patients p LEFT JOIN users u ON u.user_id = p.user_id " +
+            "WHERE " + NAME + " LIKE :contains OR u.email_normalized LIKE :contains " +
+            "ORDER BY score DESC, p.patient_id";
+
+    private static final String LOAD_JPQL =
+            "SELECT new com.hms.app.dto.PatientSearchResult(" +
+            "p.patientId, p.firstName, p.lastName, u.email, p.contactNumber, p.dateOfBirth, p.gender) " +
+            "FROM Patient p LEFT JOIN p.user u WHERE p.patientId IN :ids";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Only a positive answer is cached, so installing the extension later takes effect without a restart
+    private volatile boolean trigramAvailable;
+    private volatile boolean fallbackLogged;
+
+    @Override
+    public List<PatientSearchResult> searchRanked(String normalizedQuery, int offset, int limit) {
+        String escaped = escapeLike(normalizedQuery);
+        Query ranking;
+        if (isTrigramAvailable()) {
+            ranking = entityManager.createNativeQuery(TRIGRAM_SQL)
+                    .setParameter("q", normalizedQuery)
+                    .setParameter("prefix", escaped + "%");
+        } else {
+            ranking = entityManager.createNativeQuery(LIKE_SQL)
+                    .setParameter("prefix", escaped + "%")
+                    .setParameter("contains", "%" + escaped + "%");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = ranking.setFirstResult(offset).setMaxResults(limit).getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        Map<Long, Double> scores = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = ((Number) row[0]).longValue();
+            ids.add(id);
+            scores.put(id, ((Number) row[1]).doubleValue());
+        }
+
+        Map<Long, PatientSearchResult> loaded = new HashMap<>();
+        entityManager.createQuery(LOAD_JPQL, PatientSearchResult.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(result -> loaded.put(result.getPatientId(), result));
+
+        // Back into ranking order; a patient deleted in between is simply skipped
+        List<PatientSearchResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PatientSearchResult result = loaded.get(id);
+            if (result != null) {
+                result.setScore(scores.get(id));
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private boolean isTrigramAvailable() {
+        if (!trigramAvailable) {
+            Object installed = entityManager.createNativeQuery(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')")
+                    .getSingleResult();
+            trigramAvailable = Boolean.TRUE.equals(installed);
+            if (!trigramAvailable && !fallbackLogged) {
+                fallbackLogged = true;
+                log.warn("⚠️ pg_trgm is not installed - patient search falls back to substring matching");
+            }
+        }
+        return trigramAvailable;
+    }
+
+    // Postgres' default LIKE escape character is the backslash
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -3,6 +3,7 @@ package com.hms.app.repository;
 import com.hms.app.entity.User;
 import com.hms.app.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,8 +22,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByResetToken(String resetToken);
 
     // ✅ ADDED: Case-insensitive email finder
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
+    Optional<User> findByEmailNormalized(String emailNormalized);
+
+    default Optional<User> findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(User.normalizeIdentifier(email));
+    }
 
     // =========================
     // EXISTENCE CHECKS
@@ -30,22 +34,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
 
-    // Case-insensitive existence checks
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    boolean existsByEmailIgnoreCase(@Param("email") String email);
+    // Case-insensitive existence checks - plain equality on the normalized, uniquely indexed columns
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    boolean existsByUsernameNormalized(String usernameNormalized);
+
+    default boolean existsByEmailIgnoreCase(String email) {
+        return existsByEmailNormalized(User.normalizeIdentifier(email));
+    }
 
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.username) = LOWER(:username)")
-    boolean existsByUsernameIgnoreCase(@Param("username") String username);
+    default boolean existsByUsernameIgnoreCase(String username) {
+        return existsByUsernameNormalized(User.normalizeIdentifier(username));
+    }
 
     // =========================
     // AUTHENTICATION SUPPORT
     // =========================
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:identifier) OR LOWER(u.email) = LOWER(:identifier)")
-    Optional<User> findByUsernameOrEmailIgnoreCase(@Param("identifier") String identifier);
+    @Query("SELECT u FROM User u WHERE u.usernameNormalized = :identifier OR u.emailNormalized = :identifier")
+    Optional<User> findByNormalizedIdentifier(@Param("identifier") String identifier);
+
+    default Optional<User> findByUsernameOrEmailIgnoreCase(String identifier) {
+        return findByNormalizedIdentifier(User.normalizeIdentifier(identifier));
+    }
 
     @Query("SELECT u FROM User u WHERE u.username = :identifier OR u.email = :identifier")
     Optional<User> findByUsernameOrEmail(@Param("identifier") String identifier);
 
+    // Primary-key lookup of only the fields needed to keep trusting a JWT
+    @Query("SELECT u.tokenVersion AS tokenVersion, u.enabled AS enabled, u.isActive AS isActive " +
+            "FROM User u WHERE u.id = :id")
+    Optional<AccountStatus> findAccountStatusById(@Param("id") Long id);
+
     // =========================
     // USER STATUS & ROLE QUERIES
     // =========================
@@ -59,6 +78,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     long countByEnabledTrue();
 
+    // One row per (role, enabled, active) combination - seeds and reconciles the in-memory user counters
+    @Query("SELECT u.role AS role, u.enabled AS enabled, u.isActive AS isActive, COUNT(u) AS total " +
+            "FROM User u GROUP BY u.role, u.enabled, u.isActive")
+    List<UserStatCount> countByRoleAndStatus();
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role IN :roles")
     long countByRoleIn(@Param("roles") List<Role> roles);
 
@@ -70,4 +94,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u.email FROM User u")
     List<String> findAllEmails();
+
+    // Backfill for rows written before the normalized columns existed
+    @Modifying
+    @Query("UPDATE User u SET u.usernameNormalized = LOWER(TRIM(COALESCE(u.username, u.email))), " +
+            "u.emailNormalized = LOWER(TRIM(u.email)) " +
+            "WHERE u.emailNormalized IS NULL OR u.usernameNormalized IS NULL")
+    int backfillNormalizedIdentifiers();
+
+    // =========================
+    // PROJECTIONS
+    // =========================
+    interface AccountStatus {
+        Integer getTokenVersion();
+        Boolean getEnabled();
+        Boolean getIsActive();
+    }
+
+    interface UserStatCount {
+        Role getRole();
+        Boolean getEnabled();
+        Boolean getIsActive();
+        long getTotal();
+    }
 }
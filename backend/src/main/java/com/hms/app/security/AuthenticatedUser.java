@@ -0,0 +1,17 @@
+package com.hms.app.security;
+
+import com.hms.app.enums.Role;
+
+import java.security.Principal;
+
+/**
+ * Principal built from verified JWT claims, so authenticated requests
+ * don't need to load the full {@code User} entity.
+ */
+public record AuthenticatedUser(Long userId, String username, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -6,8 +6,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,7 +18,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
@@ -26,26 +27,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
+    private final RouteClassifier routeClassifier;
 
-    // Public endpoints that don't require JWT authentication
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-            // Support both /v1 and non-/v1 paths
-            "/api/v1/auth/login",
-            "/api/v1/auth/register",
-            "/api/v1/auth/send-reset-email",
-            "/api/v1/auth/reset-password",
-            "/api/v1/auth/forgot-password",
-            "/api/auth/login",              // ← ADD THIS
-            "/api/auth/register",           // ← ADD THIS
-            "/api/auth/send-reset-email",   // ← ADD THIS
-            "/api/auth/reset-password",     // ← ADD THIS
-            "/api/auth/forgot-password",    // ← ADD THIS
-            "/h2-console",
-            "/actuator",
-            "/error",
-            "/favicon.ico"
-    );
-
+    @Value("${application.security.jwt.claims-trusted:true}")
+    private boolean claimsTrusted;
 
     @Override
     protected void doFilterInternal(
@@ -58,7 +44,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
 
         // Skip JWT validation for public endpoints
-        if (isPublicEndpoint(requestPath)) {
+        if (routeClassifier.isPublicEndpoint(requestPath)) {
             log.debug("🌐 Public endpoint: {} - Skipping JWT validation", requestPath);
             filterChain.doFilter(request, response);
             return;
@@ -72,22 +58,21 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtService.extractUsername(jwt);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Verifies signature and expiry
+                final VerifiedToken token = jwtService.verify(jwt);
+
+                UsernamePasswordAuthenticationToken authToken = claimsTrusted && token.hasIdentityClaims()
+                        ? authenticateFromClaims(token)
+                        : authenticateFromUserDetails(token);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
                     log.debug("✅ JWT validated for user: {} with roles: {}",
-                            username, userDetails.getAuthorities());
+                            authToken.getName(), authToken.getAuthorities());
                 }
             }
         } catch (Exception e) {
@@ -97,8 +82,36 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private boolean isPublicEndpoint(String requestPath) {
-        return PUBLIC_ENDPOINTS.stream()
-                .anyMatch(endpoint -> requestPath.startsWith(endpoint));
+    // Claims-trusted mode: no user lookup, only a cached token-version check
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedToken token) {
+        if (!tokenVersionCache.isCurrent(token.userId(), token.tokenVersion())) {
+            log.warn("⚠️ Rejected revoked or outdated token for user ID: {}", token.userId());
+            return null;
+        }
+
+        AuthenticatedUser principal = new AuthenticatedUser(token.userId(), token.subject(), token.role());
+        return new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + token.role().name()))
+        );
+    }
+
+    // Legacy tokens (issued without identity claims) or claims-trusted mode disabled
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(VerifiedToken token) {
+        if (token.subject() == null) {
+            return null;
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.subject());
+        if (!jwtService.isTokenValid(token, userDetails)) {
+            return null;
+        }
+
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
     }
 }
@@ -1,7 +1,10 @@
 package com.hms.app.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hms.app.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -11,6 +14,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,14 +23,55 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    @Value("${application.security.jwt.secret-key:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
-    private String secretKey;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
 
-    @Value("${application.security.jwt.expiration:86400000}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+
+    // Built once at startup - decoding the secret and building a parser per call is wasted work
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+
+    // Recently verified tokens, so hot clients skip HMAC recomputation
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(
+            @Value("${application.security.jwt.secret-key:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}") String secretKey,
+            @Value("${application.security.jwt.expiration:900000}") long jwtExpiration,
+            @Value("${application.security.jwt.verified-cache.max-size:10000}") long verifiedCacheSize,
+            @Value("${application.security.jwt.verified-cache.ttl-seconds:300}") long verifiedCacheTtlSeconds) {
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(verifiedCacheTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Verifies signature and expiry with a single parse. Throws a
+     * {@link io.jsonwebtoken.JwtException} when the token is invalid.
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.invalidate(token);
+        }
+
+        VerifiedToken verified = VerifiedToken.from(extractAllClaims(token));
+        verifiedTokens.put(token, verified);
+        return verified;
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -36,49 +81,53 @@ public class JwtService {
 
     public String generateToken(User user) {
         Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("role", user.getRole().name());
+        extraClaims.put(CLAIM_USER_ID, user.getId());
+        extraClaims.put(CLAIM_ROLE, user.getRole().name());
+        extraClaims.put(CLAIM_TOKEN_VERSION, user.currentTokenVersion());
         return generateToken(extraClaims, user);
     }
 
+    // Same claims as generateToken(User), taken from the authenticated principal without reloading the entity
+    public String generateToken(UserPrincipal principal) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put(CLAIM_USER_ID, principal.getId());
+        extraClaims.put(CLAIM_ROLE, principal.getRole().name());
+        extraClaims.put(CLAIM_TOKEN_VERSION, principal.getTokenVersion());
+        return buildToken(extraClaims, principal.getUsername(), jwtExpiration);
+    }
+
     public String generateToken(Map<String, Object> extraClaims, User user) {
-        return buildToken(extraClaims, user, jwtExpiration);
+        return buildToken(extraClaims, user.getUsername(), jwtExpiration);
     }
 
-    private String buildToken(Map<String, Object> extraClaims, User user, long expiration) {
+    private String buildToken(Map<String, Object> extraClaims, String subject, long expiration) {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
-                .setSubject(user.getUsername())
+                .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public long getAccessTokenTtlSeconds() {
+        return jwtExpiration / 1000;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null
+                && token.subject().equals(userDetails.getUsername())
+                && !token.isExpired();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
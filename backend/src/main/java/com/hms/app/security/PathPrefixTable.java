@@ -0,0 +1,80 @@
+package com.hms.app.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable path matcher compiled once at startup. Prefixes are kept sorted
+ * and prefix-free, so the only candidate for a path is the greatest prefix
+ * not above it - one binary search and one startsWith, no allocation.
+ */
+public final class PathPrefixTable {
+
+    private static final String ANY_SUFFIX = "/**";
+
+    private final String[] prefixes;
+    private final Set<String> exactPaths;
+
+    private PathPrefixTable(Collection<String> prefixes, Collection<String> exactPaths) {
+        this.prefixes = compact(prefixes);
+        this.exactPaths = Set.copyOf(exactPaths);
+    }
+
+    /**
+     * Plain prefixes, matched with {@code startsWith} semantics.
+     */
+    public static PathPrefixTable ofPrefixes(Collection<String> prefixes) {
+        return new PathPrefixTable(prefixes, List.of());
+    }
+
+    /**
+     * Ant-style patterns as used in SecurityConfig: {@code /x/**} matches
+     * {@code /x} and everything below it, anything else is an exact path.
+     */
+    public static PathPrefixTable ofPatterns(Collection<String> patterns) {
+        List<String> prefixes = new ArrayList<>();
+        Set<String> exact = new HashSet<>();
+        for (String pattern : patterns) {
+            if (pattern.endsWith(ANY_SUFFIX)) {
+                String base = pattern.substring(0, pattern.length() - ANY_SUFFIX.length());
+                exact.add(base);
+                prefixes.add(base + "/");
+            } else {
+                exact.add(pattern);
+            }
+        }
+        return new PathPrefixTable(prefixes, exact);
+    }
+
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        if (exactPaths.contains(path)) {
+            return true;
+        }
+
+        int index = Arrays.binarySearch(prefixes, path);
+        if (index >= 0) {
+            return true;
+        }
+        int floor = -index - 2;
+        return floor >= 0 && path.startsWith(prefixes[floor]);
+    }
+
+    // Sort and drop prefixes already covered by a shorter one
+    private static String[] compact(Collection<String> prefixes) {
+        String[] sorted = prefixes.stream().distinct().sorted().toArray(String[]::new);
+        List<String> kept = new ArrayList<>(sorted.length);
+        for (String prefix : sorted) {
+            if (kept.isEmpty() || !prefix.startsWith(kept.get(kept.size() - 1))) {
+                kept.add(prefix);
+            }
+        }
+        return kept.toArray(String[]::new);
+    }
+}
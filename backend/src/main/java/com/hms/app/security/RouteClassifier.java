@@ -0,0 +1,88 @@
+package com.hms.app.security;
+
+import com.hms.app.enums.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single source of truth for route rules. SecurityConfig registers its
+ * request matchers from these constants, and the same rules are compiled
+ * into {@link PathPrefixTable}s for per-request lookups in the JWT filter
+ * and RoutingService.
+ */
+@Component
+public class RouteClassifier {
+
+    // Open to everyone, any HTTP method
+    public static final String[] PUBLIC_PATTERNS = {
+            // H2 Console
+            "/h2-console/**",
+            // Health checks for Render
+            "/api/health", "/api/ping",
+            // Infrastructure
+            "/", "/health", "/error", "/favicon.ico", "/actuator/health/**", "/actuator/info",
+            // Authentication endpoints
+            "/api/v1/auth/**", "/api/auth/**",
+            // Public data endpoints
+            "/api/v1/departments", "/api/departments",
+            "/api/v1/doctors/specializations", "/api/doctors/specializations"
+    };
+
+    // Open to everyone for GET only (public read-only doctor list)
+    public static final String[] PUBLIC_GET_PATTERNS = {
+            "/api/v1/doctors", "/api/doctors"
+    };
+
+    public static final List<RoleRule> ROLE_RULES = List.of(
+            new RoleRule(new String[]{"/api/v1/admin/**", "/api/admin/**"}, "ADMIN"),
+            // Metrics name internal queues and timings; only health and info are public
+            new RoleRule(new String[]{"/actuator/**"}, "ADMIN"),
+            new RoleRule(new String[]{"/api/v1/doctor/**", "/api/doctor/**"}, "DOCTOR", "ADMIN"),
+            new RoleRule(new String[]{"/api/v1/nurse/**", "/api/nurse/**"}, "NURSE", "ADMIN"),
+            // Patient directory listing is for staff; it must precede the patient-area rule it would match
+            new RoleRule(new String[]{"/api/v1/patient", "/api/patient"}, "ADMIN", "DOCTOR", "NURSE", "RECEPTIONIST"),
+            new RoleRule(new String[]{"/api/v1/patient/**", "/api/patient/**"}, "PATIENT", "ADMIN"),
+            new RoleRule(new String[]{"/api/v1/receptionist/**", "/api/receptionist/**"}, "RECEPTIONIST", "ADMIN"),
+            new RoleRule(new String[]{"/api/v1/pharmacist/**", "/api/pharmacist/**"}, "PHARMACIST", "ADMIN")
+    );
+
+    // Frontend route areas each role may navigate to
+    private static final Map<Role, Set<String>> ROLE_AREAS = Map.of(
+            Role.ADMIN, Set.of("/admin", "/doctor", "/patient", "/nurse", "/receptionist", "/pharmacy", "/lab"),
+            Role.DOCTOR, Set.of("/doctor", "/patient"),
+            Role.PATIENT, Set.of("/patient"),
+            Role.NURSE, Set.of("/nurse", "/patient"),
+            Role.RECEPTIONIST, Set.of("/receptionist", "/patient")
+    );
+
+    private static final PathPrefixTable NO_ACCESS = PathPrefixTable.ofPrefixes(List.of());
+
+    private final PathPrefixTable publicEndpoints = PathPrefixTable.ofPatterns(Arrays.asList(PUBLIC_PATTERNS));
+    private final Map<Role, PathPrefixTable> roleAreas = compileRoleAreas();
+
+    /**
+     * True when the path is public for every HTTP method, so the JWT filter
+     * can skip token processing entirely.
+     */
+    public boolean isPublicEndpoint(String path) {
+        return publicEndpoints.matches(path);
+    }
+
+    public boolean hasAccessToArea(Role role, String path) {
+        return role != null && roleAreas.getOrDefault(role, NO_ACCESS).matches(path);
+    }
+
+    private static Map<Role, PathPrefixTable> compileRoleAreas() {
+        Map<Role, PathPrefixTable> compiled = new EnumMap<>(Role.class);
+        ROLE_AREAS.forEach((role, areas) -> compiled.put(role, PathPrefixTable.ofPrefixes(areas)));
+        return compiled;
+    }
+
+    public record RoleRule(String[] patterns, String... roles) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.hms.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hms.app.event.UserAccountChangedEvent;
+import com.hms.app.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of each account's current token version and active flag.
+ * Lets claims-trusted JWTs be rejected once an account is disabled or its
+ * tokens are revoked, at the cost of one primary-key lookup per user per TTL.
+ */
+@Slf4j
+@Component
+public class TokenVersionCache {
+
+    private static final AccountStamp UNKNOWN = new AccountStamp(-1, false);
+
+    private final UserRepository userRepository;
+    private final Cache<Long, AccountStamp> stamps;
+
+    public TokenVersionCache(
+            UserRepository userRepository,
+            @Value("${application.security.jwt.version-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${application.security.jwt.version-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.stamps = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        AccountStamp stamp = stamps.get(userId, this::load);
+        return stamp.active() && stamp.version() == tokenVersion;
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            stamps.invalidate(userId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        evict(event.userId());
+    }
+
+    private AccountStamp load(Long userId) {
+        log.debug("Loading token version for user: {}", userId);
+        return userRepository.findAccountStatusById(userId)
+                .map(status -> new AccountStamp(
+                        status.getTokenVersion() != null ? status.getTokenVersion() : 0,
+                        !Boolean.FALSE.equals(status.getEnabled()) && !Boolean.FALSE.equals(status.getIsActive())))
+                .orElse(UNKNOWN);
+    }
+
+    private record AccountStamp(int version, boolean active) {
+    }
+}
@@ -1,53 +1,146 @@
 package com.hms.app.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hms.app.entity.User;
+import com.hms.app.event.UserAccountChangedEvent;
 import com.hms.app.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    // Immutable principals keyed by normalized username/email; a user may be cached under both
+    private final Cache<String, UserPrincipal> principals;
+
+    // Identifiers that matched no account, so repeated bad logins don't hit the database
+    private final Cache<String, Boolean> unknownIdentifiers;
+
+    private final long missLogIntervalMillis;
+    private final AtomicLong lastMissLoggedAt = new AtomicLong();
+    private final LongAdder suppressedMisses = new LongAdder();
+
+    public UserDetailsServiceImpl(
+            UserRepository userRepository,
+            @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.negative-ttl-seconds:60}") long negativeTtlSeconds,
+            @Value("${app.security.user-cache.miss-log-interval-seconds:10}") long missLogIntervalSeconds) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.unknownIdentifiers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .build();
+        this.missLogIntervalMillis = Duration.ofSeconds(missLogIntervalSeconds).toMillis();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("=== LOADING USER BY USERNAME ===");
-        log.info("Attempting to load user with username: '{}'", username);
+        String key = normalize(username);
+        UserPrincipal cached = principals.getIfPresent(key);
+        if (cached != null) {
+            log.debug("User cache hit for: '{}'", key);
+            return cached;
+        }
 
-        try {
-            // Try to find user by username first, then by email
-            User user = userRepository.findByUsernameOrEmailIgnoreCase(username)
-                    .orElseThrow(() -> {
-                        log.error("User not found with username: '{}'", username);
-
-                        // Debug: List available usernames and emails
-                        log.info("Available users in database:");
-                        userRepository.findAll().forEach(u ->
-                                log.info("  - Username: '{}', Email: '{}'", u.getUsername(), u.getEmail())
-                        );
-
-                        return new UsernameNotFoundException("User not found with username: " + username);
-                    });
-
-            log.info("✓ User found in database:");
-            log.info("  - ID: {}", user.getUserId());
-            log.info("  - Username: '{}'", user.getUsername());
-            log.info("  - Email: '{}'", user.getEmail());
-            log.info("  - Role: {}", user.getRole());
-            log.info("  - Active: {}", user.isActive());
+        if (unknownIdentifiers.getIfPresent(key) != null) {
+            suppressedMisses.increment();
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+
+        UserPrincipal principal = UserPrincipal.of(loadFromDatabase(username, key));
+        principals.put(key, principal);
+        return principal;
+    }
 
+    // Called by DaoAuthenticationProvider after a successful login when the stored hash is outdated
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (!(user instanceof UserPrincipal account) || account.getId() == null) {
             return user;
+        }
+
+        return userRepository.findById(account.getId())
+                .map(stored -> {
+                    stored.setPassword(newPassword);
+                    User saved = userRepository.save(stored);
+                    evict(saved.getId());
+                    log.debug("Password hash upgraded for user: {}", saved.getId());
+                    return (UserDetails) UserPrincipal.of(saved);
+                })
+                .orElse(user);
+    }
 
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        evict(event.userId());
+        // New or renamed accounts may match an identifier we recorded as unknown
+        unknownIdentifiers.invalidateAll();
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            principals.asMap().values().removeIf(principal -> userId.equals(principal.getId()));
+        }
+    }
+
+    private User loadFromDatabase(String username, String key) {
+        Optional<User> user;
+        try {
+            user = userRepository.findByUsernameOrEmailIgnoreCase(username);
         } catch (Exception e) {
             log.error("Error loading user: {}", e.getMessage(), e);
             throw new UsernameNotFoundException("User not found with username: " + username);
         }
+
+        if (user.isEmpty()) {
+            unknownIdentifiers.put(key, Boolean.TRUE);
+            logLookupMiss(key);
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+
+        log.debug("User loaded: id={}, role={}", user.get().getId(), user.get().getRole());
+        return user.get();
+    }
+
+    // At most one WARN per interval, so a credential-stuffing burst can't flood the logs
+    private void logLookupMiss(String key) {
+        long now = System.currentTimeMillis();
+        long last = lastMissLoggedAt.get();
+        if (now - last >= missLogIntervalMillis && lastMissLoggedAt.compareAndSet(last, now)) {
+            log.warn("auth.lookup.miss identifier={} suppressed={}", mask(key), suppressedMisses.sumThenReset());
+        } else {
+            suppressedMisses.increment();
+        }
+    }
+
+    private static String mask(String key) {
+        return key.length() <= 2 ? "***" : key.substring(0, 2) + "***";
+    }
+
+    private static String normalize(String identifier) {
+        return identifier == null ? "" : User.normalizeIdentifier(identifier);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.hms.app.security;
+
+import com.hms.app.entity.User;
+import com.hms.app.enums.Role;
+import lombok.ToString;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable copy of the account fields authentication needs. This, not the
+ * {@code User} entity, is what the user cache holds, so a cached principal
+ * can't be changed by another thread or drag a detached entity around.
+ */
+@Value
+public class UserPrincipal implements UserDetails {
+
+    Long id;
+    String username;
+    String email;
+    @ToString.Exclude
+    String password;
+    Role role;
+    String firstName;
+    String lastName;
+    boolean enabled;
+    boolean accountNonExpired;
+    boolean accountNonLocked;
+    boolean credentialsNonExpired;
+    int tokenVersion;
+    LocalDateTime createdAt;
+    LocalDateTime lastLoginAt;
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.isEnabled(),
+                user.isAccountNonExpired(),
+                user.isAccountNonLocked(),
+                user.isCredentialsNonExpired(),
+                user.currentTokenVersion(),
+                user.getCreatedAt(),
+                user.getLastLoginAt()
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
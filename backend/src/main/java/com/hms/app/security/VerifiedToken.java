@@ -0,0 +1,41 @@
+package com.hms.app.security;
+
+import com.hms.app.enums.Role;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature has been verified. Identity fields are
+ * null for tokens issued before they were embedded.
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        Role role,
+        Integer tokenVersion,
+        Date expiration
+) {
+
+    static VerifiedToken from(Claims claims) {
+        Number userId = claims.get(JwtService.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtService.CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(JwtService.CLAIM_TOKEN_VERSION, Number.class);
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                role != null ? Role.valueOf(role) : null,
+                tokenVersion != null ? tokenVersion.intValue() : null,
+                claims.getExpiration()
+        );
+    }
+
+    public boolean hasIdentityClaims() {
+        return userId != null && role != null && tokenVersion != null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
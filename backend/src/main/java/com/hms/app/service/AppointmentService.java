@@ -1,21 +1,26 @@
 package com.hms.app.service;
 
+import com.hms.app.dto.AppointmentFilter;
+import com.hms.app.dto.AppointmentResponse;
+import com.hms.app.dto.CursorPage;
 import com.hms.app.entity.Appointment;
 import java.util.List;
 import java.util.Optional;
 
 public interface AppointmentService {
 
-    Appointment saveAppointment(Appointment appointment);
+    AppointmentResponse saveAppointment(Appointment appointment);
 
-    List<Appointment> getAllAppointments();
+    Optional<AppointmentResponse> updateAppointment(Long id, Appointment appointmentDetails);
 
-    Optional<Appointment> getAppointmentById(Long id);
+    CursorPage<AppointmentResponse> getAppointments(AppointmentFilter filter, String cursor, int limit);
+
+    Optional<AppointmentResponse> getAppointmentById(Long id);
 
     void deleteAppointment(Long id);
 
     // ✅ ADDED: Methods needed by controller
-    List<Appointment> getAppointmentsByPatientId(Long patientId);
+    List<AppointmentResponse> getAppointmentsByPatientId(Long patientId);
 
-    List<Appointment> getAppointmentsByDoctorId(Long doctorId);
+    List<AppointmentResponse> getAppointmentsByDoctorId(Long doctorId);
 }
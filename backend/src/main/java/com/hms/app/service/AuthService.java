@@ -21,6 +21,16 @@ public interface AuthService {
      */
     void registerPatient(PatientRegistrationRequest request);
 
+    /**
+     * Exchanges a refresh token for a new access/refresh pair (rotation)
+     */
+    AuthResponse refresh(String refreshToken);
+
+    /**
+     * Revokes the refresh token family of the current session
+     */
+    void logout(String refreshToken);
+
     // Password reset functionality
     void sendPasswordResetEmail(String email);
     void resetPassword(String token, String newPassword);
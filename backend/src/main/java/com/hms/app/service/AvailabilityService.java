@@ -0,0 +1,21 @@
+package com.hms.app.service;
+
+import com.hms.app.dto.FreeSlotResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AvailabilityService {
+
+    /**
+     * Earliest free slot at or after {@code notBefore} among available doctors
+     * matching the optional specialization and/or department.
+     */
+    Optional<FreeSlotResponse> findNextFreeSlot(String specialization, Long departmentId, LocalDateTime notBefore);
+
+    List<FreeSlotResponse> getFreeSlots(Long doctorId, LocalDate date);
+
+    void rebuild();
+}
@@ -0,0 +1,16 @@
+package com.hms.app.service;
+
+import com.hms.app.enums.Role;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamService {
+
+    /**
+     * Opens a live stream of dashboard deltas visible to the given user.
+     *
+     * @throws IllegalStateException when the subscriber limit is reached
+     */
+    SseEmitter subscribe(Long userId, String username, Role role);
+
+    int getSubscriberCount();
+}
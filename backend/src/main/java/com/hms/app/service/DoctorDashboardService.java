@@ -0,0 +1,14 @@
+package com.hms.app.service;
+
+import com.hms.app.dto.DoctorDashboardData;
+
+public interface DoctorDashboardService {
+
+    /**
+     * Dashboard for the doctor behind the given login name or email.
+     * Served from a short-lived per-doctor cache that appointment changes invalidate.
+     */
+    DoctorDashboardData getDashboard(String identifier);
+
+    void evict(Long doctorId);
+}
@@ -1,7 +1,9 @@
 package com.hms.app.service;
 
+import java.time.LocalDateTime;
+
 public interface EmailService {
-    void sendResetEmail(String toEmail, String resetToken);
+    void sendResetEmail(String toEmail, String resetToken, LocalDateTime expiresAt);
     void sendWelcomeEmail(String toEmail, String username);
     void sendPasswordChangedNotification(String toEmail);
 }
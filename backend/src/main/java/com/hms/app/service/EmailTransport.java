@@ -0,0 +1,9 @@
+package com.hms.app.service;
+
+/**
+ * Actually delivers one message. Called only by the outbox dispatcher;
+ * throwing marks the message for retry.
+ */
+public interface EmailTransport {
+    void send(String toEmail, String subject, String body);
+}
@@ -0,0 +1,9 @@
+package com.hms.app.service;
+
+import java.time.LocalDateTime;
+
+public interface LoginActivityService {
+    void recordLogin(Long userId, LocalDateTime loginAt);
+    LocalDateTime resolveLastLoginAt(Long userId, LocalDateTime persistedLastLoginAt);
+    int flush();
+}
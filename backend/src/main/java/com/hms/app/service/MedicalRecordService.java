@@ -1,5 +1,8 @@
 package com.hms.app.service;
 
+import com.hms.app.dto.CursorPage;
+import com.hms.app.dto.MedicalRecordSearchFilter;
+import com.hms.app.dto.MedicalRecordSearchResult;
 import com.hms.app.entity.MedicalRecord;
 import java.util.List;
 import java.util.Optional;
@@ -16,4 +19,7 @@ public interface MedicalRecordService {
     Optional<MedicalRecord> getMedicalRecordById(Long id);
 
     void deleteMedicalRecord(Long id);
+
+    CursorPage<MedicalRecordSearchResult> searchMedicalRecords(String query, MedicalRecordSearchFilter filter,
+                                                               String cursor, int limit);
 }
@@ -0,0 +1,34 @@
+package com.hms.app.service;
+
+import com.hms.app.dto.NurseTaskRequest;
+import com.hms.app.dto.NurseTaskResponse;
+import com.hms.app.enums.NurseTaskStatus;
+
+import java.util.List;
+
+public interface NurseTaskService {
+
+    NurseTaskResponse createTask(NurseTaskRequest request);
+
+    /**
+     * @param actingNurseId the nurse making the change, or null for staff who may change any task
+     * @throws org.springframework.security.access.AccessDeniedException when a nurse touches another nurse's task
+     */
+    NurseTaskResponse assignTask(Long taskId, Long nurseId, Long actingNurseId);
+
+    NurseTaskResponse updateStatus(Long taskId, NurseTaskStatus status, Long actingNurseId);
+
+    /**
+     * Highest-priority open tasks of a nurse, served from memory.
+     */
+    List<NurseTaskResponse> getNextTasks(Long nurseId, int limit);
+
+    Workload getWorkload(Long nurseId);
+
+    Long resolveNurseId(String identifier);
+
+    void rebuild();
+
+    record Workload(int assignedPatients, int tasksToday, int urgentTasks) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.hms.app.service;
+
+import com.hms.app.dto.PatientDashboardData;
+
+import java.util.Optional;
+
+public interface PatientDashboardService {
+
+    /**
+     * Dashboard of the patient behind the given login name or email, or empty
+     * when the account has no patient record yet.
+     */
+    Optional<PatientDashboardData> getDashboard(String identifier);
+}
@@ -0,0 +1,19 @@
+package com.hms.app.service;
+
+import com.hms.app.dto.DemographicLookupResponse;
+import com.hms.app.dto.PatientDemographicFilter;
+
+public interface PatientDemographicsService {
+
+    /**
+     * Patients matching every given criterion, with contact details, lowest
+     * id first. Matching is done in memory; only the returned page is read
+     * from the database.
+     */
+    DemographicLookupResponse lookup(PatientDemographicFilter filter, int limit);
+
+    long count(PatientDemographicFilter filter);
+
+    // Reloads the index from the table; also runs on a schedule to pick up other instances' writes
+    void rebuild();
+}
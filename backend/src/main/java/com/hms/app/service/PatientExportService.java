@@ -0,0 +1,15 @@
+package com.hms.app.service;
+
+import com.hms.app.enums.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface PatientExportService {
+
+    /**
+     * Body that streams every patient straight from a database cursor to the
+     * response, so memory use doesn't depend on the number of patients.
+     *
+     * @throws IllegalStateException when the concurrent export limit is reached
+     */
+    StreamingResponseBody export(ExportFormat format);
+}
@@ -1,13 +1,23 @@
 package com.hms.app.service;
 
+import com.hms.app.dto.CursorPage;
+import com.hms.app.dto.PageResponse;
+import com.hms.app.dto.PatientDirectoryFilter;
+import com.hms.app.dto.PatientResponse;
+import com.hms.app.dto.PatientSearchResult;
 import com.hms.app.entity.Patient;
-import java.util.List;
+
 import java.util.Optional;
 
 public interface PatientService {
     Patient savePatient(Patient patient);
-    List<Patient> getAllPatients();
+    /**
+     * @param sort "property" or "property,asc|desc"; null sorts by id
+     */
+    PageResponse<PatientResponse> getPatientDirectory(PatientDirectoryFilter filter, int page, int size,
+                                                      String sort, boolean includeTotal);
     Optional<Patient> getPatientById(Long id);
     Patient updatePatient(Long id, Patient patientDetails); // Changed return type
     void deletePatient(Long id); // Changed return type
+    CursorPage<PatientSearchResult> searchPatients(String query, String cursor, int limit);
 }
@@ -0,0 +1,14 @@
+package com.hms.app.service;
+
+import com.hms.app.entity.User;
+
+public interface RefreshTokenService {
+    String issue(User user);
+    String issue(Long userId, int tokenVersion);  // For a login, where only the principal snapshot is at hand
+    Rotation rotate(String refreshToken);
+    void revoke(String refreshToken);
+    int purgeExpired();
+
+    record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.hms.app.service;
+
+import com.hms.app.entity.Appointment;
+
+import java.time.LocalDateTime;
+
+public interface SlotReservationService {
+
+    /**
+     * Saves the appointment and reserves (or moves/releases) its doctor slot
+     * in one transaction. Must be called outside a transaction. Throws
+     * SlotUnavailableException when the slot is taken.
+     */
+    Appointment book(Appointment appointment);
+
+    void release(Long appointmentId);
+
+    LocalDateTime slotStart(LocalDateTime time);
+
+    int getSlotMinutes();
+}
@@ -0,0 +1,22 @@
+package com.hms.app.service;
+
+import com.hms.app.enums.Role;
+
+import java.util.Map;
+
+public interface StatisticsService {
+
+    /**
+     * Current counters, read from memory without touching the database.
+     */
+    Snapshot getSnapshot();
+
+    void reconcile();
+
+    record Snapshot(long totalUsers, long activeUsers, Map<Role, Long> usersByRole, long todayAppointments) {
+
+        public long count(Role role) {
+            return usersByRole.getOrDefault(role, 0L);
+        }
+    }
+}
@@ -4,12 +4,15 @@ import com.hms.app.dto.*;
 import com.hms.app.entity.Doctor;
 import com.hms.app.entity.User;
 import com.hms.app.enums.Role;
+import com.hms.app.event.UserAccountChangedEvent;
 import com.hms.app.exception.DuplicateResourceException;
 import com.hms.app.exception.ResourceNotFoundException;
 import com.hms.app.repository.*;
 import com.hms.app.service.AdminService;
+import com.hms.app.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,9 +27,10 @@ public class AdminServiceImpl implements AdminService {
 
     private final UserRepository userRepository;
     private final DoctorRepository doctorRepository;
-    private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatisticsService statisticsService;
 
     // ==================== USER MANAGEMENT ====================
 
@@ -54,7 +58,9 @@ public class AdminServiceImpl implements AdminService {
     public void deleteUser(Long id) {
         User user = getUserById(id);
         user.setEnabled(false);
+        user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
         log.info("User deleted/deactivated: {}", user.getEmail());
     }
 
@@ -64,6 +70,7 @@ public class AdminServiceImpl implements AdminService {
         User user = getUserById(id);
         user.activate();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
         log.info("User activated: {}", user.getEmail());
     }
 
@@ -73,6 +80,7 @@ public class AdminServiceImpl implements AdminService {
         User user = getUserById(id);
         user.deactivate();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
         log.info("User deactivated: {}", user.getEmail());
     }
 
@@ -81,19 +89,16 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public AdminDashboardData getDashboardData() {
         try {
-            int totalUsers = (int) userRepository.count();
-            int totalDoctors = (int) doctorRepository.count();
-            int totalPatients = (int) patientRepository.count();
-            int totalNurses = (int) userRepository.countByRole(Role.NURSE);
-            int todayAppointments = 0; // Placeholder
+            StatisticsService.Snapshot stats = statisticsService.getSnapshot();
 
             return AdminDashboardData.builder()
                     .welcomeMessage("Welcome to Admin Dashboard")
-                    .totalUsers(totalUsers)
-                    .totalDoctors(totalDoctors)
-                    .totalPatients(totalPatients)
-                    .totalNurses(totalNurses)
-                    .todayAppointments(todayAppointments)
+                    .totalUsers((int) stats.totalUsers())
+                    .activeUsers((int) stats.activeUsers())
+                    .totalDoctors((int) stats.count(Role.DOCTOR))
+                    .totalPatients((int) stats.count(Role.PATIENT))
+                    .totalNurses((int) stats.count(Role.NURSE))
+                    .todayAppointments((int) stats.todayAppointments())
                     .redirectUrl("/admin/dashboard")
                     .build();
         } catch (Exception e) {
@@ -130,6 +135,7 @@ public class AdminServiceImpl implements AdminService {
                     .build();
 
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(savedUser.getId()));
 
             Doctor doctor = new Doctor();
             doctor.setUser(savedUser);
@@ -228,9 +234,9 @@ public class AdminServiceImpl implements AdminService {
         User user = doctor.getUser();
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
-        user.setEmail(request.getEmail());
-        user.setUsername(request.getEmail());  // ✅ Update username too
+        user.changeLoginIdentifiers(request.getEmail(), request.getEmail());  // ✅ Update username too
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
 
         doctor.setFirstName(request.getFirstName());
         doctor.setLastName(request.getLastName());
@@ -251,6 +257,7 @@ public class AdminServiceImpl implements AdminService {
         User user = doctor.getUser();
         user.deactivate();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
 
         log.info("✅ Doctor deleted/deactivated: {}", user.getEmail());
     }
@@ -286,6 +293,7 @@ public class AdminServiceImpl implements AdminService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(savedUser.getId()));
         log.info("✅ Staff member created: {} with role: {}", savedUser.getEmail(), savedUser.getRole());
 
         return mapToUserResponse(savedUser);
@@ -316,7 +324,9 @@ public class AdminServiceImpl implements AdminService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
         log.info("Password reset for user: {}", user.getEmail());
     }
 
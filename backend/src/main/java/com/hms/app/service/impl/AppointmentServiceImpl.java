@@ -1,8 +1,14 @@
 package com.hms.app.service.impl;
 
+import com.hms.app.dto.AppointmentCursor;
+import com.hms.app.dto.AppointmentFilter;
+import com.hms.app.dto.AppointmentResponse;
+import com.hms.app.dto.CursorPage;
 import com.hms.app.entity.Appointment;
 import com.hms.app.repository.AppointmentRepository;
+import com.hms.app.repository.NurseTaskRepository;
 import com.hms.app.service.AppointmentService;
+import com.hms.app.service.SlotReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,45 +22,117 @@ import java.util.Optional;
 @RequiredArgsConstructor  // ✅ Better than @Autowired
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final AppointmentRepository appointmentRepository;
+    private final NurseTaskRepository nurseTaskRepository;
+    private final SlotReservationService slotReservationService;
 
+    // Not @Transactional: the booking engine owns the transaction so its doctor lock covers the commit
     @Override
-    @Transactional
-    public Appointment saveAppointment(Appointment appointment) {
+    public AppointmentResponse saveAppointment(Appointment appointment) {
         log.info("Saving appointment");
-        return appointmentRepository.save(appointment);
+        Appointment saved = slotReservationService.book(appointment);
+        return toResponse(saved.getAppointmentId());
+    }
+
+    @Override
+    public Optional<AppointmentResponse> updateAppointment(Long id, Appointment appointmentDetails) {
+        log.info("Updating appointment: {}", id);
+        Optional<Appointment> existing = appointmentRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Fields left out of the body keep their current values; a null must never clear them
+        Appointment appointment = existing.get();
+        if (appointmentDetails.getPatient() != null) {
+            if (appointmentDetails.getPatient().getPatientId() == null) {
+                throw new IllegalArgumentException("Patient id is required");
+            }
+            appointment.setPatient(appointmentDetails.getPatient());
+        }
+        if (appointmentDetails.getDoctor() != null) {
+            if (appointmentDetails.getDoctor().getDoctorId() == null) {
+                throw new IllegalArgumentException("Doctor id is required");
+            }
+            appointment.setDoctor(appointmentDetails.getDoctor());
+        }
+        if (appointmentDetails.getAppointmentDateTime() != null) {
+            appointment.setAppointmentDateTime(appointmentDetails.getAppointmentDateTime());
+        }
+        if (appointmentDetails.getStatus() != null) {
+            appointment.setStatus(appointmentDetails.getStatus());
+        }
+
+        Appointment saved = slotReservationService.book(appointment);
+        return Optional.of(toResponse(saved.getAppointmentId()));
     }
 
     @Override
-    public List<Appointment> getAllAppointments() {
-        log.info("Fetching all appointments");
-        return appointmentRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponse> getAppointments(AppointmentFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        AppointmentCursor after = cursor != null && !cursor.isBlank() ? AppointmentCursor.decode(cursor) : null;
+        log.debug("Fetching appointments page: filter={}, after={}, limit={}", filter, after, pageSize);
+
+        // One extra row tells us whether another page exists without a COUNT query
+        List<AppointmentResponse> rows = appointmentRepository.findPage(filter, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentResponse> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AppointmentResponse last = items.get(items.size() - 1);
+            nextCursor = new AppointmentCursor(last.getAppointmentDate(), last.getId()).encode();
+        }
+
+        return CursorPage.<AppointmentResponse>builder()
+                .items(List.copyOf(items))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
     }
 
     @Override
-    public Optional<Appointment> getAppointmentById(Long id) {
+    @Transactional(readOnly = true)
+    public Optional<AppointmentResponse> getAppointmentById(Long id) {
         log.info("Fetching appointment by id: {}", id);
-        return appointmentRepository.findById(id);
+        return appointmentRepository.findResponseById(id);
     }
 
     @Override
     @Transactional
     public void deleteAppointment(Long id) {
         log.info("Deleting appointment: {}", id);
+        slotReservationService.release(id);
+        int detached = nurseTaskRepository.detachFromAppointment(id);  // Otherwise the FK blocks the delete
+        if (detached > 0) {
+            log.info("Unlinked {} nurse tasks from appointment {}", detached, id);
+        }
         appointmentRepository.deleteById(id);
     }
 
     // ✅ IMPLEMENTED: Get appointments by patient ID
     @Override
-    public List<Appointment> getAppointmentsByPatientId(Long patientId) {
+    @Transactional(readOnly = true)
+    public List<AppointmentResponse> getAppointmentsByPatientId(Long patientId) {
         log.info("Fetching appointments for patient: {}", patientId);
-        return appointmentRepository.findByPatientId(patientId);
+        return appointmentRepository.findResponsesByPatientId(patientId);
     }
 
     // ✅ IMPLEMENTED: Get appointments by doctor ID
     @Override
-    public List<Appointment> getAppointmentsByDoctorId(Long doctorId) {
+    @Transactional(readOnly = true)
+    public List<AppointmentResponse> getAppointmentsByDoctorId(Long doctorId) {
         log.info("Fetching appointments for doctor: {}", doctorId);
-        return appointmentRepository.findByDoctorId(doctorId);
+        return appointmentRepository.findResponsesByDoctorId(doctorId);
+    }
+
+    // Re-read as a projection: the saved entity's patient/doctor may be uninitialized proxies
+    private AppointmentResponse toResponse(Long appointmentId) {
+        return appointmentRepository.findResponseById(appointmentId)
+                .orElseThrow(() -> new IllegalStateException("Appointment " + appointmentId + " not found after save"));
     }
 }
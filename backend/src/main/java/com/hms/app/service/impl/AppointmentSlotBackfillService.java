@@ -0,0 +1,47 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.service.SlotReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reserves slots for active appointments booked before appointment_slots
+ * existed. Idempotent: only inserts for appointments without a slot row.
+ * Pre-existing double bookings keep the earliest appointment's reservation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentSlotBackfillService implements CommandLineRunner {
+
+    private static final String BACKFILL_SQL =
+            "INSERT INTO appointment_slots (doctor_id, slot_start, appointment_id) " +
+            "SELECT a.doctor_id, " +
+            "       date_trunc('hour', a.appointment_date_time) " +
+            "         + floor(extract(minute FROM a.appointment_date_time) / %1$d) * %1$d * interval '1 minute', " +
+            "       a.appointment_id " +
+            "FROM appointments a " +
+            "WHERE a.status <> 'CANCELED' " +
+            "  AND NOT EXISTS (SELECT 1 FROM appointment_slots s WHERE s.appointment_id = a.appointment_id) " +
+            "ORDER BY a.appointment_id " +
+            "ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SlotReservationService slotReservationService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            int inserted = jdbcTemplate.update(String.format(BACKFILL_SQL, slotReservationService.getSlotMinutes()));
+            if (inserted > 0) {
+                log.info("✅ Reserved slots for {} existing appointments", inserted);
+            }
+        } catch (Exception e) {
+            // Bookings still work; old appointments just aren't protected until the next start
+            log.error("❌ Failed to backfill appointment slots: {}", e.getMessage(), e);
+        }
+    }
+}
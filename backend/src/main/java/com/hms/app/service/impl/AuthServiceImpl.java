@@ -4,21 +4,26 @@ import com.hms.app.dto.*;
 import com.hms.app.entity.Patient;
 import com.hms.app.entity.User;
 import com.hms.app.enums.Role;
+import com.hms.app.event.UserAccountChangedEvent;
 import com.hms.app.exception.DuplicateResourceException;
+import com.hms.app.exception.PasswordHashingRejectedException;
 import com.hms.app.repository.PatientRepository;
 import com.hms.app.repository.UserRepository;
 import com.hms.app.service.AuthService;
 import com.hms.app.service.EmailService;
+import com.hms.app.service.LoginActivityService;
+import com.hms.app.service.RefreshTokenService;
 import com.hms.app.security.JwtService;
+import com.hms.app.security.UserPrincipal;
 import com.hms.app.service.RoutingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -39,6 +44,9 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final RoutingService routingService;
     private final EmailService emailService;
+    private final LoginActivityService loginActivityService;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // -------------------- Registration --------------------
     @Override
@@ -89,6 +97,7 @@ public class AuthServiceImpl implements AuthService {
                     .build();
 
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(savedUser.getId()));
             log.info("✅ User created: ID={}, Email={}", savedUser.getId(), savedUser.getEmail());
 
             // ✅ STEP 2: Create Patient Record
@@ -112,8 +121,9 @@ public class AuthServiceImpl implements AuthService {
             log.info("✅ Patient record created: PatientID={} for UserID={}",
                     savedPatient.getPatientId(), savedUser.getId());
 
-            // Generate token
+            // Generate token pair
             String token = jwtService.generateToken(savedUser);
+            String refreshToken = refreshTokenService.issue(savedUser);
 
             // Build UserProfile
             UserProfile userProfile = UserProfile.builder()
@@ -134,6 +144,8 @@ public class AuthServiceImpl implements AuthService {
             return AuthResponse.builder()
                     .token(token)
                     .tokenType("Bearer")
+                    .refreshToken(refreshToken)
+                    .expiresIn(jwtService.getAccessTokenTtlSeconds())
                     .user(userProfile)
                     .message("Patient account created successfully")
                     .userId(savedUser.getId())
@@ -143,6 +155,8 @@ public class AuthServiceImpl implements AuthService {
                     .redirectUrl(routingService.getRedirectUrlByRole(savedUser.getRole()))
                     .build();
 
+        } catch (PasswordHashingRejectedException e) {
+            throw e;  // Surface backpressure as 503, not as a login/registration failure
         } catch (Exception e) {
             log.error("❌ Registration failed for: {} - {}", request.getEmail(), e.getMessage(), e);
             throw new RuntimeException("Registration failed: " + e.getMessage());
@@ -162,15 +176,16 @@ public class AuthServiceImpl implements AuthService {
                     new UsernamePasswordAuthenticationToken(identifier.trim(), request.getPassword())
             );
 
-            User user = userRepository.findByUsernameOrEmailIgnoreCase(identifier.trim())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            // The provider already loaded the account; no second lookup
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
 
             if (!user.isEnabled()) {
                 throw new RuntimeException("Account is disabled. Please contact administrator.");
             }
 
             String token = jwtService.generateToken(user);
-            updateLastLoginSafely(user);
+            String refreshToken = refreshTokenService.issue(user.getId(), user.getTokenVersion());
+            LocalDateTime loginAt = recordLoginSafely(user.getId(), user.getEmail());
 
             log.info("🟢 Login successful: User={}, Role={}", user.getEmail(), user.getRole());
 
@@ -183,12 +198,14 @@ public class AuthServiceImpl implements AuthService {
                     .role(user.getRole().name())
                     .enabled(user.isEnabled())
                     .createdAt(user.getCreatedAt())
-                    .lastLoginAt(user.getLastLoginAt())
+                    .lastLoginAt(loginAt != null ? loginAt : user.getLastLoginAt())
                     .build();
 
             return AuthResponse.builder()
                     .token(token)
                     .tokenType("Bearer")
+                    .refreshToken(refreshToken)
+                    .expiresIn(jwtService.getAccessTokenTtlSeconds())
                     .user(userProfile)
                     .message("Login successful")
                     .userId(user.getId())
@@ -198,6 +215,8 @@ public class AuthServiceImpl implements AuthService {
                     .redirectUrl(routingService.getRedirectUrlByRole(user.getRole()))
                     .build();
 
+        } catch (PasswordHashingRejectedException e) {
+            throw e;  // Surface backpressure as 503, not as a login/registration failure
         } catch (BadCredentialsException e) {
             log.error("❌ Invalid credentials for: {}", identifier);
             throw new RuntimeException("Invalid username/email or password");
@@ -210,6 +229,31 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    // -------------------- Token Refresh --------------------
+    // No AuthenticationManager and no password hashing - one lookup by token hash
+    @Override
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = rotation.user();
+
+        log.debug("🔄 Access token refreshed for user: {}", user.getId());
+
+        return AuthResponse.builder()
+                .token(jwtService.generateToken(user))
+                .tokenType("Bearer")
+                .refreshToken(rotation.refreshToken())
+                .expiresIn(jwtService.getAccessTokenTtlSeconds())
+                .message("Token refreshed")
+                .userId(user.getId())
+                .role(user.getRole().name())
+                .build();
+    }
+
+    @Override
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
     // -------------------- Patient Registration --------------------
     @Override
     @Transactional  // ✅ ADDED
@@ -243,6 +287,7 @@ public class AuthServiceImpl implements AuthService {
                     .build();
 
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserAccountChangedEvent(savedUser.getId()));
             log.info("✅ User created: ID={}", savedUser.getId());
 
             // ✅ Create Patient Record
@@ -257,6 +302,8 @@ public class AuthServiceImpl implements AuthService {
 
             log.info("🟢 Patient registration successful: {}", request.getEmail());
 
+        } catch (PasswordHashingRejectedException e) {
+            throw e;  // Surface backpressure as 503, not as a login/registration failure
         } catch (Exception e) {
             log.error("❌ Patient registration failed: {} - {}",
                     request != null ? request.getEmail() : "null request", e.getMessage(), e);
@@ -266,6 +313,7 @@ public class AuthServiceImpl implements AuthService {
 
     // -------------------- Password Reset --------------------
     @Override
+    @Transactional  // Reset token and outbox email commit together
     public void sendPasswordResetEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -275,11 +323,12 @@ public class AuthServiceImpl implements AuthService {
         user.setResetTokenExpiry(LocalDateTime.now().plusHours(1));
         userRepository.save(user);
 
-        emailService.sendResetEmail(email, resetToken);
-        log.info("✅ Password reset email sent to: {}", email);
+        emailService.sendResetEmail(email, resetToken, user.getResetTokenExpiry());
+        log.info("✅ Password reset email queued for: {}", email);
     }
 
     @Override
+    @Transactional
     public void resetPassword(String token, String newPassword) {
         User user = userRepository.findByResetToken(token)
                 .orElseThrow(() -> new RuntimeException("Invalid or expired reset token"));
@@ -295,21 +344,26 @@ public class AuthServiceImpl implements AuthService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setResetToken(null);
         user.setResetTokenExpiry(null);
+        user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
 
         emailService.sendPasswordChangedNotification(user.getEmail());
         log.info("✅ Password reset successfully for user: {}", user.getEmail());
     }
 
     // -------------------- Utility Methods --------------------
-    private void updateLastLoginSafely(User user) {
+    // Buffered and written in batches by LoginActivityService - no per-login UPDATE
+    private LocalDateTime recordLoginSafely(Long userId, String email) {
         try {
-            user.updateLastLogin();
-            userRepository.save(user);
-            log.debug("✅ Last login updated for user: {}", user.getEmail());
+            LocalDateTime loginAt = LocalDateTime.now();
+            loginActivityService.recordLogin(userId, loginAt);
+            log.debug("✅ Last login recorded for user: {}", email);
+            return loginAt;
         } catch (Exception e) {
-            log.warn("⚠️ Failed to update last login for user {}: {}",
-                    user.getEmail(), e.getMessage());
+            log.warn("⚠️ Failed to record last login for user {}: {}",
+                    email, e.getMessage());
+            return null;
         }
     }
 
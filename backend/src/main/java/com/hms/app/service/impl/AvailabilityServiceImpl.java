@@ -0,0 +1,333 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.dto.FreeSlotResponse;
+import com.hms.app.event.AppointmentChangedEvent;
+import com.hms.app.repository.AppointmentRepository;
+import com.hms.app.repository.DoctorRepository;
+import com.hms.app.service.AvailabilityService;
+import com.hms.app.service.SlotReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory free-slot index. Each available doctor has one BitSet covering
+ * the next horizon-weeks of working slots (bit set = booked or non-working),
+ * so "next free slot" is one nextClearBit per candidate doctor. The index
+ * is kept current from AppointmentChangedEvents and rebuilt periodically
+ * to roll the horizon forward and pick up changes made on other instances.
+ * Booking itself is still guarded by the slot table - this is only a search
+ * structure.
+ */
+@Slf4j
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final int slotMinutes;
+    private final int horizonDays;
+    private final LocalTime dayStart;
+    private final int slotsPerDay;
+    private final Set<DayOfWeek> workingDays;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean rebuilding;
+    private final Object rebuildLock = new Object();
+    private final Queue<AppointmentChangedEvent> changesDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    public AvailabilityServiceImpl(
+            AppointmentRepository appointmentRepository,
+            DoctorRepository doctorRepository,
+            SlotReservationService slotReservationService,
+            @Value("${app.availability.horizon-weeks:4}") int horizonWeeks,
+            @Value("${app.availability.day-start:09:00}") String dayStart,
+            @Value("${app.availability.day-end:17:00}") String dayEnd,
+            @Value("${app.availability.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") String[] workingDays) {
+        this.appointmentRepository = appointmentRepository;
+        this.doctorRepository = doctorRepository;
+        this.slotMinutes = slotReservationService.getSlotMinutes();
+        this.horizonDays = horizonWeeks * 7;
+        this.dayStart = LocalTime.parse(dayStart);
+        this.slotsPerDay = (int) (Duration.between(this.dayStart, LocalTime.parse(dayEnd)).toMinutes() / slotMinutes);
+        this.workingDays = EnumSet.noneOf(DayOfWeek.class);
+        Arrays.stream(workingDays).map(day -> DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)))
+                .forEach(this.workingDays::add);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.availability.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.availability.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            changesDuringRebuild.clear();
+            rebuilding = true;
+            try {
+                long started = System.nanoTime();
+                Snapshot fresh = load();
+                snapshot = fresh;
+                // Commits that landed while we were reading may be missing from the fresh copy
+                AppointmentChangedEvent missed;
+                while ((missed = changesDuringRebuild.poll()) != null) {
+                    apply(fresh, missed);
+                }
+                log.info("✅ Availability index built: {} doctors, {} days x {} slots in {} ms",
+                        fresh.doctors().size(), horizonDays, slotsPerDay,
+                        (System.nanoTime() - started) / 1_000_000);
+            } catch (Exception e) {
+                log.error("❌ Failed to build availability index: {}", e.getMessage(), e);
+            } finally {
+                rebuilding = false;
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (rebuilding) {
+            changesDuringRebuild.add(event);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    @Override
+    public Optional<FreeSlotResponse> findNextFreeSlot(String specialization, Long departmentId, LocalDateTime notBefore) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int from = firstIndexAtOrAfter(current, notBefore != null && notBefore.isAfter(now) ? notBefore : now);
+        if (from < 0) {
+            return Optional.empty();
+        }
+
+        DoctorSlots best = null;
+        int bestIndex = Integer.MAX_VALUE;
+        for (DoctorSlots doctor : candidates(current, specialization, departmentId)) {
+            int index = doctor.nextFree(from);
+            if (index < bestIndex) {
+                best = doctor;
+                bestIndex = index;
+            }
+        }
+
+        if (best == null || bestIndex >= current.totalSlots()) {
+            return Optional.empty();
+        }
+        return Optional.of(toResponse(current, best, bestIndex));
+    }
+
+    @Override
+    public List<FreeSlotResponse> getFreeSlots(Long doctorId, LocalDate date) {
+        Snapshot current = snapshot;
+        DoctorSlots doctor = current != null ? current.doctors().get(doctorId) : null;
+        if (doctor == null || date == null) {
+            return List.of();
+        }
+
+        int dayOffset = (int) ChronoUnit.DAYS.between(current.firstDay(), date);
+        if (dayOffset < 0 || dayOffset >= horizonDays) {
+            return List.of();
+        }
+
+        int dayFrom = dayOffset * slotsPerDay;
+        int from = Math.max(dayFrom, firstIndexAtOrAfter(current, LocalDateTime.now()));
+        int to = dayFrom + slotsPerDay;
+
+        List<FreeSlotResponse> free = new ArrayList<>();
+        for (int index = doctor.nextFree(from); index < to; index = doctor.nextFree(index + 1)) {
+            free.add(toResponse(current, doctor, index));
+        }
+        return free;
+    }
+
+    private Snapshot load() {
+        LocalDate firstDay = LocalDate.now();
+        Snapshot fresh = new Snapshot(firstDay, horizonDays * slotsPerDay, new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+        BitSet nonWorking = new BitSet(fresh.totalSlots());
+        for (int day = 0; day < horizonDays; day++) {
+            if (!workingDays.contains(firstDay.plusDays(day).getDayOfWeek())) {
+                nonWorking.set(day * slotsPerDay, (day + 1) * slotsPerDay);
+            }
+        }
+
+        for (DoctorRepository.DoctorSummary summary : doctorRepository.findAvailableDoctorSummaries()) {
+            DoctorSlots doctor = new DoctorSlots(
+                    summary.getDoctorId(),
+                    (summary.getFirstName() + " " + summary.getLastName()).trim(),
+                    summary.getSpecialization(),
+                    summary.getDepartmentId(),
+                    (BitSet) nonWorking.clone()
+            );
+            fresh.doctors().put(doctor.doctorId, doctor);
+            if (doctor.specialization != null) {
+                fresh.bySpecialization().computeIfAbsent(normalize(doctor.specialization), key -> new ArrayList<>()).add(doctor);
+            }
+            if (doctor.departmentId != null) {
+                fresh.byDepartment().computeIfAbsent(doctor.departmentId, key -> new ArrayList<>()).add(doctor);
+            }
+        }
+
+        LocalDateTime windowStart = firstDay.atStartOfDay();
+        for (AppointmentRepository.BookedTime booked : appointmentRepository.findBookedTimesBetween(
+                windowStart, windowStart.plusDays(horizonDays))) {
+            DoctorSlots doctor = fresh.doctors().get(booked.getDoctorId());
+            int index = indexOf(fresh, booked.getAppointmentDateTime());
+            if (doctor != null && index >= 0) {
+                doctor.mark(index, true);
+            }
+        }
+        return fresh;
+    }
+
+    private void apply(Snapshot target, AppointmentChangedEvent event) {
+        if (event.previousDoctorId() != null && event.previousSlot() != null) {
+            mark(target, event.previousDoctorId(), event.previousSlot(), false);
+        }
+        if (event.doctorId() != null && event.slot() != null) {
+            mark(target, event.doctorId(), event.slot(), true);
+        }
+    }
+
+    private void mark(Snapshot target, Long doctorId, LocalDateTime slot, boolean booked) {
+        DoctorSlots doctor = target.doctors().get(doctorId);
+        int index = indexOf(target, slot);
+        if (doctor == null || index < 0) {
+            return;  // Unknown doctor or outside the indexed window - next rebuild catches up
+        }
+        if (!booked && !workingDays.contains(slot.getDayOfWeek())) {
+            return;  // Never free a non-working slot
+        }
+        doctor.mark(index, booked);
+    }
+
+    private List<DoctorSlots> candidates(Snapshot current, String specialization, Long departmentId) {
+        List<DoctorSlots> pool;
+        if (specialization != null && !specialization.isBlank()) {
+            pool = current.bySpecialization().getOrDefault(normalize(specialization), List.of());
+        } else if (departmentId != null) {
+            return current.byDepartment().getOrDefault(departmentId, List.of());
+        } else {
+            return List.copyOf(current.doctors().values());
+        }
+
+        if (departmentId == null) {
+            return pool;
+        }
+        return pool.stream().filter(doctor -> departmentId.equals(doctor.departmentId)).toList();
+    }
+
+    // Bit index of the slot containing this time, or -1 outside the window or working hours
+    private int indexOf(Snapshot target, LocalDateTime time) {
+        long dayOffset = ChronoUnit.DAYS.between(target.firstDay(), time.toLocalDate());
+        long minutes = Duration.between(dayStart, time.toLocalTime()).toMinutes();
+        if (dayOffset < 0 || dayOffset >= horizonDays || minutes < 0 || minutes / slotMinutes >= slotsPerDay) {
+            return -1;
+        }
+        return (int) (dayOffset * slotsPerDay + minutes / slotMinutes);
+    }
+
+    // First slot starting at or after this time, or -1 past the window
+    private int firstIndexAtOrAfter(Snapshot target, LocalDateTime time) {
+        long dayOffset = ChronoUnit.DAYS.between(target.firstDay(), time.toLocalDate());
+        long slot = 0;
+        if (dayOffset < 0) {
+            dayOffset = 0;
+        } else {
+            long seconds = Duration.between(dayStart, time.toLocalTime()).getSeconds();
+            long slotSeconds = slotMinutes * 60L;
+            slot = seconds <= 0 ? 0 : (seconds + slotSeconds - 1) / slotSeconds;  // round up to a slot boundary
+        }
+        if (slot >= slotsPerDay) {
+            dayOffset++;
+            slot = 0;
+        }
+        return dayOffset >= horizonDays ? -1 : (int) (dayOffset * slotsPerDay + slot);
+    }
+
+    private FreeSlotResponse toResponse(Snapshot current, DoctorSlots doctor, int index) {
+        LocalDateTime start = current.firstDay().plusDays(index / slotsPerDay)
+                .atTime(dayStart)
+                .plusMinutes((long) (index % slotsPerDay) * slotMinutes);
+        return FreeSlotResponse.builder()
+                .doctorId(doctor.doctorId)
+                .doctorName(doctor.name)
+                .specialization(doctor.specialization)
+                .departmentId(doctor.departmentId)
+                .slotStart(start)
+                .slotEnd(start.plusMinutes(slotMinutes))
+                .build();
+    }
+
+    private static String normalize(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(
+            LocalDate firstDay,
+            int totalSlots,
+            Map<Long, DoctorSlots> doctors,
+            Map<String, List<DoctorSlots>> bySpecialization,
+            Map<Long, List<DoctorSlots>> byDepartment
+    ) {
+    }
+
+    private static final class DoctorSlots {
+        private final Long doctorId;
+        private final String name;
+        private final String specialization;
+        private final Long departmentId;
+        private final BitSet taken;
+
+        private DoctorSlots(Long doctorId, String name, String specialization, Long departmentId, BitSet taken) {
+            this.doctorId = doctorId;
+            this.name = name;
+            this.specialization = specialization;
+            this.departmentId = departmentId;
+            this.taken = taken;
+        }
+
+        synchronized int nextFree(int from) {
+            return taken.nextClearBit(from);
+        }
+
+        synchronized void mark(int index, boolean booked) {
+            taken.set(index, booked);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.enums.BloodGroup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites free-text blood groups entered before the column was typed
+ * ("o neg", "AB +ve") to their canonical labels, so equality lookups and
+ * ix_patients_blood_group see one value per group. Values that can't be
+ * recognized are left exactly as entered and reported for manual cleanup;
+ * they read as null and never match a filter. Idempotent: only recognizable
+ * non-canonical values are rewritten.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BloodGroupBackfillService implements CommandLineRunner {
+
+    private static final String CANONICAL = Arrays.stream(BloodGroup.values())
+            .map(group -> "'" + group.getLabel() + "'")
+            .collect(Collectors.joining(", "));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            List<String> legacy = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT blood_group FROM patients " +
+                    "WHERE blood_group IS NOT NULL AND blood_group NOT IN (" + CANONICAL + ")", String.class);
+            for (String value : legacy) {
+                BloodGroup group = BloodGroup.parse(value).orElse(null);
+                if (group != null) {
+                    int updated = jdbcTemplate.update("UPDATE patients SET blood_group = ? WHERE blood_group = ?",
+                            group.getLabel(), value);
+                    log.info("✅ Normalized blood group '{}' to {} on {} patients", value, group, updated);
+                } else {
+                    Integer count = jdbcTemplate.queryForObject(
+                            "SELECT COUNT(*) FROM patients WHERE blood_group = ?", Integer.class, value);
+                    log.warn("⚠️ Unrecognized blood group '{}' on {} patients, left for manual review", value, count);
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to normalize blood groups: {}", e.getMessage(), e);
+        }
+    }
+}
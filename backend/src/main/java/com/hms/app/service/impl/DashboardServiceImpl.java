@@ -6,7 +6,12 @@ import com.hms.app.enums.Role;
 import com.hms.app.exception.ResourceNotFoundException;
 import com.hms.app.repository.UserRepository;
 import com.hms.app.service.DashboardService;
+import com.hms.app.service.DoctorDashboardService;
+import com.hms.app.service.LoginActivityService;
+import com.hms.app.service.NurseTaskService;
+import com.hms.app.service.PatientDashboardService;
 import com.hms.app.service.RoutingService;
+import com.hms.app.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,16 +28,20 @@ public class DashboardServiceImpl implements DashboardService {
 
     private final UserRepository userRepository;
     private final RoutingService routingService;
+    private final LoginActivityService loginActivityService;
+    private final DoctorDashboardService doctorDashboardService;
+    private final NurseTaskService nurseTaskService;
+    private final PatientDashboardService patientDashboardService;
+    private final StatisticsService statisticsService;
+
+    private static final int DASHBOARD_TASKS = 10;
 
     @Override
     public AdminDashboardData getAdminDashboardData() {
         log.info("Fetching admin dashboard data");
 
         try {
-            long totalUsers = userRepository.count();
-            long totalDoctors = userRepository.countByRole(Role.DOCTOR);
-            long totalPatients = userRepository.countByRole(Role.PATIENT);
-            long totalNurses = userRepository.countByRole(Role.NURSE);
+            StatisticsService.Snapshot stats = statisticsService.getSnapshot();
 
             List<AdminDashboardData.RecentActivity> activities = new ArrayList<>();
             activities.add(AdminDashboardData.RecentActivity.builder()
@@ -51,11 +60,12 @@ public class DashboardServiceImpl implements DashboardService {
 
             return AdminDashboardData.builder()
                     .welcomeMessage("Welcome to Admin Dashboard!")
-                    .totalUsers((int) totalUsers)
-                    .totalDoctors((int) totalDoctors)
-                    .totalPatients((int) totalPatients)
-                    .totalNurses((int) totalNurses)
-                    .todayAppointments(0)
+                    .totalUsers((int) stats.totalUsers())
+                    .activeUsers((int) stats.activeUsers())
+                    .totalDoctors((int) stats.count(Role.DOCTOR))
+                    .totalPatients((int) stats.count(Role.PATIENT))
+                    .totalNurses((int) stats.count(Role.NURSE))
+                    .todayAppointments((int) stats.todayAppointments())
                     .redirectUrl(routingService.getRedirectUrlByRole(Role.ADMIN))
                     .recentActivities(activities)
                     .build();
@@ -71,24 +81,7 @@ public class DashboardServiceImpl implements DashboardService {
         log.info("Fetching doctor dashboard data for: {}", doctorEmail);
 
         try {
-            List<DoctorDashboardData.TodayAppointment> schedule = new ArrayList<>();
-            schedule.add(DoctorDashboardData.TodayAppointment.builder()
-                    .appointmentId(1L)
-                    .patientName("Sample Patient")
-                    .appointmentTime(LocalDateTime.now().plusHours(2))
-                    .reason("Regular Checkup")
-                    .status("SCHEDULED")
-                    .build());
-
-            return DoctorDashboardData.builder()
-                    .welcomeMessage("Welcome, Doctor!")
-                    .todayAppointments(1)
-                    .upcomingAppointments(3)
-                    .totalPatients(15)
-                    .redirectUrl(routingService.getRedirectUrlByRole(Role.DOCTOR))
-                    .todaysSchedule(schedule)
-                    .build();
-
+            return doctorDashboardService.getDashboard(doctorEmail);
         } catch (Exception e) {
             log.error("Error fetching doctor dashboard data: {}", e.getMessage());
             throw new RuntimeException("Failed to fetch doctor dashboard data: " + e.getMessage());
@@ -100,24 +93,8 @@ public class DashboardServiceImpl implements DashboardService {
         log.info("Fetching patient dashboard data for: {}", patientEmail);
 
         try {
-            List<PatientDashboardData.UpcomingAppointment> appointments = new ArrayList<>();
-            appointments.add(PatientDashboardData.UpcomingAppointment.builder()
-                    .appointmentId(1L)
-                    .doctorName("Dr. Smith")
-                    .specialization("Cardiology")
-                    .appointmentTime(LocalDateTime.now().plusDays(1))
-                    .status("SCHEDULED")
-                    .build());
-
-            return PatientDashboardData.builder()
-                    .welcomeMessage("Welcome to your Health Dashboard!")
-                    .upcomingAppointments(1)
-                    .nextAppointment(LocalDateTime.now().plusDays(1))
-                    .nextAppointmentDoctor("Dr. Smith")
-                    .redirectUrl(routingService.getRedirectUrlByRole(Role.PATIENT))
-                    .appointments(appointments)
-                    .build();
-
+            return patientDashboardService.getDashboard(patientEmail)
+                    .orElseThrow(() -> new ResourceNotFoundException("Patient record not found"));
         } catch (Exception e) {
             log.error("Error fetching patient dashboard data: {}", e.getMessage());
             throw new RuntimeException("Failed to fetch patient dashboard data: " + e.getMessage());
@@ -129,20 +106,23 @@ public class DashboardServiceImpl implements DashboardService {
         log.info("Fetching nurse dashboard data for: {}", nurseEmail);
 
         try {
-            List<NurseDashboardData.PatientTask> tasks = new ArrayList<>();
-            tasks.add(NurseDashboardData.PatientTask.builder()
-                    .taskId(1L)
-                    .patientName("Sample Patient")
-                    .taskType("Vital Signs Check")
-                    .priority("HIGH")
-                    .status("PENDING")
-                    .build());
+            Long nurseId = nurseTaskService.resolveNurseId(nurseEmail);
+            NurseTaskService.Workload workload = nurseTaskService.getWorkload(nurseId);
+            List<NurseDashboardData.PatientTask> tasks = nurseTaskService.getNextTasks(nurseId, DASHBOARD_TASKS).stream()
+                    .map(task -> NurseDashboardData.PatientTask.builder()
+                            .taskId(task.getTaskId())
+                            .patientName(task.getPatientName())
+                            .taskType(task.getTaskType())
+                            .priority(task.getPriority().name())
+                            .status(task.getStatus().name())
+                            .build())
+                    .toList();
 
             return NurseDashboardData.builder()
                     .welcomeMessage("Welcome, Nurse!")
-                    .assignedPatients(8)
-                    .tasksToday(5)
-                    .urgentTasks(2)
+                    .assignedPatients(workload.assignedPatients())
+                    .tasksToday(workload.tasksToday())
+                    .urgentTasks(workload.urgentTasks())
                     .redirectUrl(routingService.getRedirectUrlByRole(Role.NURSE))
                     .tasks(tasks)
                     .build();
@@ -170,7 +150,7 @@ public class DashboardServiceImpl implements DashboardService {
                     .role(user.getRole().name())
                     .enabled(user.isEnabled())
                     .createdAt(user.getCreatedAt())
-                    .lastLoginAt(user.getLastLoginAt())
+                    .lastLoginAt(loginActivityService.resolveLastLoginAt(user.getId(), user.getLastLoginAt()))
                     .build();
 
         } catch (Exception e) {
@@ -0,0 +1,344 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.dto.DashboardDelta;
+import com.hms.app.entity.User;
+import com.hms.app.enums.Role;
+import com.hms.app.event.AppointmentChangedEvent;
+import com.hms.app.event.NurseTaskChangedEvent;
+import com.hms.app.event.UserAccountChangedEvent;
+import com.hms.app.event.UserLifecycleEvent;
+import com.hms.app.repository.DoctorRepository;
+import com.hms.app.service.DashboardStreamService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out of domain events to open dashboard streams. Listeners only offer
+ * a delivery to a bounded inbox. One broadcaster thread copies each delivery
+ * into the bounded buffer of every subscriber allowed to see it. A small
+ * writer pool drains those buffers to the sockets. A subscriber whose buffer
+ * overflows is too slow and is disconnected; the client reconnects and
+ * reloads its dashboard. Idle streams cost one map entry each and a heartbeat.
+ * A stream never outlives the access token it was opened with, and is closed
+ * as soon as its account changes, so revoked users stop receiving deltas.
+ */
+@Slf4j
+@Service
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+    private static final Set<Role> APPOINTMENT_AUDIENCE = EnumSet.of(Role.ADMIN, Role.RECEPTIONIST, Role.DOCTOR);
+    private static final Set<Role> REGISTRATION_AUDIENCE = EnumSet.of(Role.ADMIN, Role.RECEPTIONIST);
+    private static final Set<Role> NURSE_TASK_AUDIENCE = EnumSet.of(Role.ADMIN, Role.NURSE);
+    private static final DashboardDelta HEARTBEAT_DELTA = new DashboardDelta("HEARTBEAT", null, null);
+    private static final Delivery HEARTBEAT = new Delivery(HEARTBEAT_DELTA, Set.of(), Set.of(), Set.of());
+
+    private final DoctorRepository doctorRepository;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Delivery> inbox;
+    private final ExecutorService broadcaster;
+    private final ThreadPoolExecutor writers;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final Counter droppedSubscribers;
+    private final Counter droppedDeltas;
+
+    public DashboardStreamServiceImpl(
+            DoctorRepository doctorRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.dashboard.stream.inbox-capacity:10000}") int inboxCapacity,
+            @Value("${app.dashboard.stream.client-buffer-size:64}") int bufferSize,
+            @Value("${app.dashboard.stream.max-subscribers:1000}") int maxSubscribers,
+            @Value("${app.dashboard.stream.writer-threads:2}") int writerThreads,
+            @Value("${app.dashboard.stream.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${application.security.jwt.expiration:900000}") long accessTokenMillis) {
+        this.doctorRepository = doctorRepository;
+        this.inbox = new ArrayBlockingQueue<>(inboxCapacity);
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        // The client must come back with a valid token to keep listening
+        this.timeoutMillis = Math.min(TimeUnit.MINUTES.toMillis(timeoutMinutes), accessTokenMillis);
+
+        this.broadcaster = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // At most one pending drain per subscriber, so the queue is bounded by max-subscribers
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(
+                writerThreads, writerThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-writer-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        this.droppedSubscribers = Counter.builder("hms.dashboard.stream.dropped.subscribers")
+                .description("Streams closed because the client could not keep up")
+                .register(meterRegistry);
+        this.droppedDeltas = Counter.builder("hms.dashboard.stream.dropped.deltas")
+                .description("Deltas discarded because the broadcaster inbox was full")
+                .register(meterRegistry);
+        Gauge.builder("hms.dashboard.stream.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+
+        broadcaster.execute(this::broadcastLoop);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId, String username, Role role) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many open dashboard streams, try again later");
+        }
+
+        Long doctorId = role == Role.DOCTOR
+                ? doctorRepository.findDoctorIdByUserIdentifier(User.normalizeIdentifier(username)).orElse(null)
+                : null;
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, userId, role, doctorId, new ArrayBlockingQueue<>(bufferSize));
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        offerTo(subscriber, delta("CONNECTED", Map.of("role", role.name())));
+        log.debug("Dashboard stream opened for user {} ({})", userId, role);
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        String type = event.slot() == null ? "APPOINTMENT_RELEASED"
+                : event.previousSlot() == null ? "APPOINTMENT_BOOKED"
+                : "APPOINTMENT_UPDATED";
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("appointmentId", event.appointmentId());
+        data.put("doctorId", event.doctorId());
+        data.put("slot", event.slot());
+        data.put("previousDoctorId", event.previousDoctorId());
+        data.put("previousSlot", event.previousSlot());
+
+        Set<Long> doctorIds = new HashSet<>(2);
+        if (event.doctorId() != null) doctorIds.add(event.doctorId());
+        if (event.previousDoctorId() != null) doctorIds.add(event.previousDoctorId());
+        publish(new Delivery(delta(type, data), APPOINTMENT_AUDIENCE, doctorIds, Set.of()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserLifecycleEvent event) {
+        if (!event.created()) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("userId", event.userId());
+        data.put("role", event.role());
+        publish(new Delivery(delta("USER_REGISTERED", data), REGISTRATION_AUDIENCE, Set.of(), Set.of()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNurseTaskChanged(NurseTaskChangedEvent event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("taskId", event.taskId());
+        data.put("nurseId", event.nurseId());
+        data.put("previousNurseId", event.previousNurseId());
+        data.put("patientName", event.patientName());
+        data.put("taskType", event.taskType());
+        data.put("priority", event.priority());
+        data.put("status", event.status());
+        data.put("dueAt", event.dueAt());
+
+        // A reassigned task must also leave the previous nurse's list
+        Set<Long> nurseIds = new HashSet<>(2);
+        if (event.nurseId() != null) nurseIds.add(event.nurseId());
+        if (event.previousNurseId() != null) nurseIds.add(event.previousNurseId());
+        publish(new Delivery(delta("NURSE_TASK_UPDATED", data), NURSE_TASK_AUDIENCE, Set.of(), nurseIds));
+    }
+
+    // Deactivation, a role change or a password reset: the stream was authorized for the old account
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (event.userId().equals(subscriber.userId())) {
+                log.debug("Closing dashboard stream of user {} after an account change", event.userId());
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    // Keeps proxies from closing idle connections and flushes out dead clients
+    @Scheduled(fixedRateString = "${app.dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            publish(HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdownNow();
+        writers.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+    }
+
+    // Called on the committing thread: never blocks, never touches a socket
+    private void publish(Delivery delivery) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!inbox.offer(delivery)) {
+            droppedDeltas.increment();
+            log.debug("Dashboard inbox full, dropping {}", delivery.delta().getType());
+        }
+    }
+
+    private void broadcastLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Delivery delivery = inbox.take();
+                for (Subscriber subscriber : subscribers) {
+                    if (delivery == HEARTBEAT || subscriber.accepts(delivery)) {
+                        offerTo(subscriber, delivery.delta());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("❌ Dashboard broadcast failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void offerTo(Subscriber subscriber, DashboardDelta delta) {
+        if (!subscriber.buffer().offer(delta)) {
+            droppedSubscribers.increment();
+            log.warn("⚠️ Dashboard stream of user {} fell {} deltas behind, disconnecting", subscriber.userId(), bufferSize);
+            disconnect(subscriber);
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            DashboardDelta delta;
+            while ((delta = subscriber.buffer().poll()) != null) {
+                try {
+                    if (delta == HEARTBEAT_DELTA) {
+                        subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        subscriber.emitter().send(SseEmitter.event().name(delta.getType()).data(delta));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    disconnect(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining().set(false);
+            // Re-check: the broadcaster may have added to the buffer after our last poll
+        } while (!subscriber.buffer().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.buffer().clear();
+            try {
+                subscriber.emitter().complete();
+            } catch (Exception e) {
+                log.debug("Closing dashboard stream failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static DashboardDelta delta(String type, Map<String, Object> data) {
+        return DashboardDelta.builder()
+                .type(type)
+                .occurredAt(LocalDateTime.now())
+                .data(data)
+                .build();
+    }
+
+    /**
+     * A delta plus who may see it: roles in the audience, narrowed to the
+     * doctors involved for doctors and to the nurses involved for nurses.
+     */
+    private record Delivery(DashboardDelta delta, Set<Role> audience, Set<Long> doctorIds, Set<Long> nurseUserIds) {
+    }
+
+    private record Subscriber(SseEmitter emitter, Long userId, Role role, Long doctorId,
+                              BlockingQueue<DashboardDelta> buffer, AtomicBoolean draining) {
+
+        Subscriber(SseEmitter emitter, Long userId, Role role, Long doctorId, BlockingQueue<DashboardDelta> buffer) {
+            this(emitter, userId, role, doctorId, buffer, new AtomicBoolean());
+        }
+
+        boolean accepts(Delivery delivery) {
+            if (role == Role.ADMIN) {
+                return true;
+            }
+            if (!delivery.audience().contains(role)) {
+                return false;
+            }
+            if (role == Role.DOCTOR) {
+                return doctorId != null && delivery.doctorIds().contains(doctorId);
+            }
+            if (role == Role.NURSE) {
+                return userId != null && delivery.nurseUserIds().contains(userId);
+            }
+            return true;
+        }
+
+        // Identity semantics: two streams of the same user are separate subscribers
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hms.app.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hms.app.dto.DoctorDashboardData;
+import com.hms.app.entity.User;
+import com.hms.app.enums.Role;
+import com.hms.app.event.AppointmentChangedEvent;
+import com.hms.app.exception.ResourceNotFoundException;
+import com.hms.app.repository.DoctorRepository;
+import com.hms.app.repository.DoctorRepository.DoctorDashboardRow;
+import com.hms.app.service.DoctorDashboardService;
+import com.hms.app.service.RoutingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Doctor dashboard read model. A refresh is one aggregated query per doctor
+ * per TTL. Any booking, move or cancellation touching the doctor drops the
+ * cached entry after commit.
+ */
+@Slf4j
+@Service
+public class DoctorDashboardServiceImpl implements DoctorDashboardService {
+
+    private final DoctorRepository doctorRepository;
+    private final RoutingService routingService;
+    private final Cache<String, Long> doctorIds;
+    private final Cache<Long, DoctorDashboardData> dashboards;
+
+    public DoctorDashboardServiceImpl(
+            DoctorRepository doctorRepository,
+            RoutingService routingService,
+            @Value("${app.dashboard.doctor.cache-ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.dashboard.doctor.cache-max-size:1000}") long maxSize) {
+        this.doctorRepository = doctorRepository;
+        this.routingService = routingService;
+        // Login -> doctor id never changes, so it can live much longer than the dashboard itself
+        this.doctorIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+        this.dashboards = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    @Override
+    public DoctorDashboardData getDashboard(String identifier) {
+        String normalized = User.normalizeIdentifier(identifier);
+        Long doctorId = doctorIds.get(normalized, key -> doctorRepository.findDoctorIdByUserIdentifier(key).orElse(null));
+        if (doctorId == null) {
+            throw new ResourceNotFoundException("Doctor profile not found for: " + identifier);
+        }
+
+        DoctorDashboardData dashboard = dashboards.get(doctorId, this::load);
+        if (dashboard == null) {
+            doctorIds.invalidate(normalized);
+            throw new ResourceNotFoundException("Doctor profile not found for: " + identifier);
+        }
+        return dashboard;
+    }
+
+    @Override
+    public void evict(Long doctorId) {
+        if (doctorId != null) {
+            dashboards.invalidate(doctorId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        evict(event.previousDoctorId());
+        evict(event.doctorId());
+    }
+
+    private DoctorDashboardData load(Long doctorId) {
+        log.debug("Loading dashboard for doctor: {}", doctorId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dayStart = LocalDate.now().atStartOfDay();
+        List<DoctorDashboardRow> rows = doctorRepository.findDashboardRows(
+                doctorId, dayStart, dayStart.plusDays(1), now);
+        if (rows.isEmpty()) {
+            return null;  // Doctor was deleted; not cached
+        }
+
+        DoctorDashboardRow first = rows.get(0);
+        List<DoctorDashboardData.TodayAppointment> schedule = new ArrayList<>();
+        for (DoctorDashboardRow row : rows) {
+            if (row.getAppointmentId() == null) {
+                continue;
+            }
+            schedule.add(DoctorDashboardData.TodayAppointment.builder()
+                    .appointmentId(row.getAppointmentId())
+                    .patientName(row.getPatientName())
+                    .appointmentTime(row.getAppointmentTime())
+                    .reason(row.getReason())
+                    .status(row.getStatus())
+                    .build());
+        }
+
+        return DoctorDashboardData.builder()
+                .welcomeMessage("Welcome, Dr. " + first.getLastName() + "!")
+                .todayAppointments(first.getTodayCount().intValue())
+                .upcomingAppointments(first.getUpcomingCount().intValue())
+                .totalPatients(first.getPatientCount().intValue())
+                .redirectUrl(routingService.getRedirectUrlByRole(Role.DOCTOR))
+                .todaysSchedule(List.copyOf(schedule))
+                .build();
+    }
+}
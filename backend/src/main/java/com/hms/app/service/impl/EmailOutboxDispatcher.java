@@ -0,0 +1,262 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.entity.EmailOutboxMessage;
+import com.hms.app.enums.EmailOutboxStatus;
+import com.hms.app.repository.EmailOutboxRepository;
+import com.hms.app.service.EmailTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox. Each poll claims a batch of due rows with
+ * FOR UPDATE SKIP LOCKED, hands them to a small worker pool and records the
+ * outcome per row: SENT, back to PENDING with exponential backoff, or DEAD
+ * once max-attempts is reached or the email has expired (a retry would land
+ * after its expiresAt). Delivery is at-least-once. SENT rows are purged after
+ * retention-days, DEAD ones after dead-retention-days.
+ */
+@Slf4j
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final List<EmailOutboxStatus> QUEUED = List.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailTransport emailTransport;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final int retentionDays;
+    private final int deadRetentionDays;
+
+    // Refreshed after every poll, so scrapes never hit the database
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestQueuedAgeSeconds = new AtomicLong();
+    private final Timer deliveryTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailTransport emailTransport,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.email.outbox.batch-size:50}") int batchSize,
+            @Value("${app.email.outbox.worker-threads:4}") int workerThreads,
+            @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.email.outbox.base-backoff-seconds:30}") long baseBackoffSeconds,
+            @Value("${app.email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${app.email.outbox.lease-seconds:120}") long leaseSeconds,
+            @Value("${app.email.outbox.retention-days:7}") int retentionDays,
+            @Value("${app.email.outbox.dead-retention-days:30}") int deadRetentionDays) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailTransport = emailTransport;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retentionDays = retentionDays;
+        this.deadRetentionDays = deadRetentionDays;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                workerThreads, workerThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+
+        this.deliveryTimer = Timer.builder("hms.email.outbox.delivery.time")
+                .description("Time spent handing one email to the transport")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("hms.email.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("hms.email.outbox.retried").register(meterRegistry);
+        this.deadCounter = Counter.builder("hms.email.outbox.dead").register(meterRegistry);
+        Gauge.builder("hms.email.outbox.backlog", backlog, AtomicLong::get)
+                .description("Emails waiting to be delivered")
+                .register(meterRegistry);
+        Gauge.builder("hms.email.outbox.lag.seconds", oldestQueuedAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered email")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            // Keep draining a backlog without waiting for the next poll
+            List<EmailOutboxMessage> batch;
+            do {
+                batch = claimBatch();
+                deliver(batch);
+            } while (batch.size() == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            log.error("❌ Email outbox dispatch failed: {}", e.getMessage(), e);
+        } finally {
+            refreshLagMetrics();
+        }
+    }
+
+    @Scheduled(cron = "${app.email.outbox.purge-cron:0 45 3 * * *}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int sent = emailOutboxRepository.deleteSentBefore(now.minusDays(retentionDays));
+        if (sent > 0) {
+            log.info("🧹 Purged {} delivered emails from the outbox", sent);
+        }
+        // Kept longer than SENT rows so they can be investigated, but not forever
+        int dead = emailOutboxRepository.deleteDeadBefore(now.minusDays(deadRetentionDays));
+        if (dead > 0) {
+            log.info("🧹 Purged {} dead-lettered emails from the outbox", dead);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    // Claim and lease in one short transaction; SMTP I/O happens after commit.
+    // The attempt is counted at claim time, so a lease that expires (worker hung or
+    // instance died) still uses up an attempt and can't be retried forever.
+    private List<EmailOutboxMessage> claimBatch() {
+        List<EmailOutboxMessage> claimed = new ArrayList<>();
+        int expired = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = emailOutboxRepository.lockDueBatch(now, batchSize);
+            LocalDateTime leaseUntil = now.plus(lease);
+            int dead = 0;
+            for (EmailOutboxMessage message : due) {
+                if (message.isExpired(now) || message.getAttempts() >= maxAttempts) {
+                    message.setStatus(EmailOutboxStatus.DEAD);
+                    message.setNextAttemptAt(now);
+                    message.setLastError(message.isExpired(now)
+                            ? "Expired before it could be delivered"
+                            : "Lease expired on the final attempt");
+                    dead++;
+                    continue;
+                }
+                message.setAttempts(message.getAttempts() + 1);
+                message.setStatus(EmailOutboxStatus.SENDING);
+                message.setNextAttemptAt(leaseUntil);
+                claimed.add(message);
+            }
+            return dead;
+        });
+        if (expired > 0) {
+            deadCounter.increment(expired);
+            log.error("❌ Dead-lettered {} emails that expired or whose final delivery attempt never finished", expired);
+        }
+        return claimed;
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<?>[] deliveries = batch.stream()
+                .map(message -> CompletableFuture.runAsync(() -> deliverOne(message), workers))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(deliveries).get(lease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Unfinished rows stay leased and are picked up again once the lease expires
+            log.warn("⚠️ Email outbox batch of {} did not finish within {}s", batch.size(), lease.toSeconds());
+        } catch (ExecutionException e) {
+            log.error("❌ Email outbox worker failed: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliverOne(EmailOutboxMessage message) {
+        int attempt = message.getAttempts();  // Already counted by claimBatch
+        try {
+            deliveryTimer.record(() ->
+                    emailTransport.send(message.getRecipient(), message.getSubject(), message.getBody()));
+            emailOutboxRepository.markSent(message.getId(), LocalDateTime.now());
+            sentCounter.increment();
+            log.info("✅ Email {} sent to: {}", message.getId(), message.getRecipient());
+        } catch (Exception e) {
+            String error = truncate(e.getMessage());
+            Duration delay = backoff(attempt);
+            if (attempt >= maxAttempts || message.isExpired(LocalDateTime.now().plus(delay))) {
+                emailOutboxRepository.markFailed(message.getId(), EmailOutboxStatus.DEAD,
+                        attempt, LocalDateTime.now(), error);
+                deadCounter.increment();
+                log.error("❌ Email {} to {} dead-lettered after {} attempts: {}",
+                        message.getId(), message.getRecipient(), attempt, error);
+            } else {
+                emailOutboxRepository.markFailed(message.getId(), EmailOutboxStatus.PENDING,
+                        attempt, LocalDateTime.now().plus(delay), error);
+                retriedCounter.increment();
+                log.warn("⚠️ Email {} to {} failed (attempt {}/{}), retrying in {}s: {}",
+                        message.getId(), message.getRecipient(), attempt, maxAttempts, delay.toSeconds(), error);
+            }
+        }
+    }
+
+    // base * 2^(attempt-1), capped, with jitter so a failed batch doesn't retry in lockstep
+    private Duration backoff(int attempt) {
+        long exponential = baseBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(exponential, maxBackoff.toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private void refreshLagMetrics() {
+        try {
+            backlog.set(emailOutboxRepository.countByStatusIn(QUEUED));
+            LocalDateTime oldest = emailOutboxRepository.findOldestCreatedAt(QUEUED);
+            oldestQueuedAgeSeconds.set(oldest != null
+                    ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds())
+                    : 0);
+        } catch (Exception e) {
+            log.debug("Could not refresh email outbox metrics: {}", e.getMessage());
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,125 +1,87 @@
 package com.hms.app.service.impl;
 
+import com.hms.app.entity.EmailOutboxMessage;
+import com.hms.app.repository.EmailOutboxRepository;
 import com.hms.app.service.EmailService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
+/**
+ * Composes emails and writes them to the outbox. Runs inside the caller's
+ * transaction, so the email exists only if the triggering change commits;
+ * SMTP latency and failures never reach the request.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    // Make JavaMailSender optional - will be null if bean not available
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
-
-    @Value("${spring.mail.username:noreply@hospital.com}")
-    private String fromEmail;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
 
     @Override
-    public void sendResetEmail(String toEmail, String resetToken) {
-        if (mailSender == null) {
-            log.warn("⚠️ Email service not configured. Password reset email NOT sent to: {}", toEmail);
-            log.warn("📧 Reset token for testing: {}", resetToken);
-            log.warn("🔗 Reset link would be: {}/reset-password?token={}", frontendUrl, resetToken);
-            return;  // Skip sending email in development
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Password Reset Request - Hospital Management System");
-
-            String resetLink = frontendUrl + "/reset-password?token=" + resetToken;
-
-            String emailBody = String.format(
-                    "Dear User,\n\n" +
-                            "You have requested to reset your password for Hospital Management System.\n\n" +
-                            "Please click the link below to reset your password:\n%s\n\n" +
-                            "This link will expire in 1 hour.\n\n" +
-                            "If you did not request this password reset, please ignore this email.\n\n" +
-                            "Best regards,\n" +
-                            "Hospital Management System Team",
-                    resetLink
-            );
-
-            message.setText(emailBody);
-            mailSender.send(message);
-
-            log.info("✅ Password reset email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("❌ Failed to send reset email to: {} - {}", toEmail, e.getMessage());
-            throw new RuntimeException("Failed to send reset email: " + e.getMessage());
-        }
+    @Transactional
+    public void sendResetEmail(String toEmail, String resetToken, LocalDateTime expiresAt) {
+        String resetLink = frontendUrl + "/reset-password?token=" + resetToken;
+
+        String emailBody = String.format(
+                "Dear User,\n\n" +
+                        "You have requested to reset your password for Hospital Management System.\n\n" +
+                        "Please click the link below to reset your password:\n%s\n\n" +
+                        "This link will expire in 1 hour.\n\n" +
+                        "If you did not request this password reset, please ignore this email.\n\n" +
+                        "Best regards,\n" +
+                        "Hospital Management System Team",
+                resetLink
+        );
+
+        // A link that arrives after it expired is useless, so don't deliver it late
+        enqueue(toEmail, "Password Reset Request - Hospital Management System", emailBody, expiresAt);
     }
 
     @Override
+    @Transactional
     public void sendWelcomeEmail(String toEmail, String username) {
-        if (mailSender == null) {
-            log.warn("⚠️ Email service not configured. Welcome email NOT sent to: {}", toEmail);
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Welcome to Hospital Management System");
-
-            String emailBody = String.format(
-                    "Dear %s,\n\n" +
-                            "Welcome to Hospital Management System!\n\n" +
-                            "Your account has been created successfully.\n" +
-                            "You can now log in using your email and password.\n\n" +
-                            "Best regards,\n" +
-                            "Hospital Management System Team",
-                    username
-            );
-
-            message.setText(emailBody);
-            mailSender.send(message);
-
-            log.info("✅ Welcome email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("❌ Failed to send welcome email to: {} - {}", toEmail, e.getMessage());
-            // Don't throw exception - welcome email is not critical
-        }
+        String emailBody = String.format(
+                "Dear %s,\n\n" +
+                        "Welcome to Hospital Management System!\n\n" +
+                        "Your account has been created successfully.\n" +
+                        "You can now log in using your email and password.\n\n" +
+                        "Best regards,\n" +
+                        "Hospital Management System Team",
+                username
+        );
+
+        enqueue(toEmail, "Welcome to Hospital Management System", emailBody, null);
     }
 
     @Override
+    @Transactional
     public void sendPasswordChangedNotification(String toEmail) {
-        if (mailSender == null) {
-            log.warn("⚠️ Email service not configured. Password changed notification NOT sent to: {}", toEmail);
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Password Changed - Hospital Management System");
-
-            String emailBody =
-                    "Dear User,\n\n" +
-                            "Your password has been changed successfully.\n\n" +
-                            "If you did not make this change, please contact support immediately.\n\n" +
-                            "Best regards,\n" +
-                            "Hospital Management System Team";
-
-            message.setText(emailBody);
-            mailSender.send(message);
+        String emailBody =
+                "Dear User,\n\n" +
+                        "Your password has been changed successfully.\n\n" +
+                        "If you did not make this change, please contact support immediately.\n\n" +
+                        "Best regards,\n" +
+                        "Hospital Management System Team";
+
+        enqueue(toEmail, "Password Changed - Hospital Management System", emailBody, null);
+    }
 
-            log.info("✅ Password changed notification sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("❌ Failed to send password changed notification to: {} - {}", toEmail, e.getMessage());
-            // Don't throw exception - notification is not critical
-        }
+    private void enqueue(String toEmail, String subject, String body, LocalDateTime expiresAt) {
+        EmailOutboxMessage message = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(toEmail)
+                .subject(subject)
+                .body(body)
+                .expiresAt(expiresAt)
+                .build());
+        log.info("📨 Email queued: id={}, to={}, subject={}", message.getId(), toEmail, subject);
     }
 }
@@ -0,0 +1,44 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.service.EmailTransport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local stand-in for SMTP (app.email.transport=log). Logs and keeps the
+ * last delivered messages in memory so tests and local runs can inspect
+ * what would have been sent.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "log")
+public class LoggingEmailTransport implements EmailTransport {
+
+    private static final int MAX_RETAINED = 100;
+
+    private final List<SentEmail> sent = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(String toEmail, String subject, String body) {
+        log.info("📧 [fake-smtp] To: {} | Subject: {}\n{}", toEmail, subject, body);
+        sent.add(new SentEmail(toEmail, subject, body));
+        while (sent.size() > MAX_RETAINED) {
+            sent.remove(0);
+        }
+    }
+
+    public List<SentEmail> getSent() {
+        return List.copyOf(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+
+    public record SentEmail(String toEmail, String subject, String body) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.service.LoginActivityService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for users.last_login_at. Logins only touch memory;
+ * pending timestamps are written periodically as one batched UPDATE, and
+ * once more on shutdown.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoginActivityServiceImpl implements LoginActivityService {
+
+    // Never moves last_login_at backwards if an older flush races a newer one
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE users SET last_login_at = ? " +
+            "WHERE user_id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // userId -> latest login not yet written to the database
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordLogin(Long userId, LocalDateTime loginAt) {
+        if (userId == null || loginAt == null) {
+            return;
+        }
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Override
+    public LocalDateTime resolveLastLoginAt(Long userId, LocalDateTime persistedLastLoginAt) {
+        LocalDateTime buffered = userId != null ? pending.get(userId) : null;
+        if (buffered == null) {
+            return persistedLastLoginAt;
+        }
+        return persistedLastLoginAt == null || buffered.isAfter(persistedLastLoginAt)
+                ? buffered
+                : persistedLastLoginAt;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.login-activity.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        pending.forEach((userId, loginAt) -> batch.add(Map.entry(userId, loginAt)));
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch, batch.size(), (ps, entry) -> {
+                Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, loginAt);
+                ps.setLong(2, entry.getKey());
+                ps.setTimestamp(3, loginAt);
+            });
+        } catch (Exception e) {
+            // Entries stay buffered and are retried on the next flush
+            log.warn("⚠️ Failed to flush {} last-login updates: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+
+        // Only drop entries that weren't superseded by a newer login during the flush
+        batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        log.debug("✅ Flushed {} last-login updates", batch.size());
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("Flushed {} pending last-login updates on shutdown", flushed);
+        }
+    }
+}
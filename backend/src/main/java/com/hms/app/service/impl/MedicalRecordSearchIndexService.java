@@ -0,0 +1,91 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.repository.MedicalRecordSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Owns the full-text index over medical records. search_vector is a stored
+ * generated column, so Postgres updates it in the same statement as every
+ * insert or update - there is no separate indexing step to fall behind.
+ * Diagnosis terms are weighted above symptoms. The nightly job rebuilds the
+ * GIN index CONCURRENTLY, so writes carry on while it runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MedicalRecordSearchIndexService implements CommandLineRunner {
+
+    private static final String INDEX_NAME = "ix_medical_records_search";
+    private static final String CONFIG = "'" + MedicalRecordSearchRepository.TEXT_SEARCH_CONFIG + "'";
+
+    // One-time table rewrite when the column is first added; a no-op afterwards
+    private static final String ADD_COLUMN_DDL =
+            "ALTER TABLE medical_records ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+            "setweight(to_tsvector(" + CONFIG + ", coalesce(diagnosis, '')), 'A') || " +
+            "setweight(to_tsvector(" + CONFIG + ", coalesce(symptoms, '')), 'B')) STORED";
+
+    private static final String CREATE_INDEX_DDL =
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME + " ON medical_records USING gin (search_vector)";
+
+    private static final String IS_INVALID_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+            "WHERE c.relname = ? AND NOT i.indisvalid)";
+
+    // Keeps two instances from rebuilding at the same time
+    private static final long REINDEX_LOCK_KEY = 0x6d72736561726368L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            jdbcTemplate.execute(ADD_COLUMN_DDL);
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_INVALID_SQL, Boolean.class, INDEX_NAME))) {
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME);
+            }
+            jdbcTemplate.execute(CREATE_INDEX_DDL);
+            log.info("✅ Medical record search index ready");
+        } catch (Exception e) {
+            // Records are still saved and readable; only /search fails until this succeeds
+            log.error("❌ Failed to set up medical record search index: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.medical-records.search.reindex-cron:0 15 3 * * *}")
+    public void reindex() {
+        try {
+            boolean rebuilt = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                // Session-level advisory lock, so lock, rebuild and unlock must share one connection
+                try (Statement statement = connection.createStatement()) {
+                    try (ResultSet lock = statement.executeQuery("SELECT pg_try_advisory_lock(" + REINDEX_LOCK_KEY + ")")) {
+                        if (!lock.next() || !lock.getBoolean(1)) {
+                            return false;
+                        }
+                    }
+                    try {
+                        // Leftover from an interrupted rebuild; it would otherwise be maintained on every write
+                        statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME + "_ccnew");
+                        statement.execute("REINDEX INDEX CONCURRENTLY " + INDEX_NAME);
+                        return true;
+                    } finally {
+                        statement.execute("SELECT pg_advisory_unlock(" + REINDEX_LOCK_KEY + ")");
+                    }
+                }
+            }));
+            if (rebuilt) {
+                log.info("🔄 Rebuilt medical record search index");
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to rebuild medical record search index: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.hms.app.service.impl;
 
+import com.hms.app.dto.CursorPage;
+import com.hms.app.dto.MedicalRecordSearchFilter;
+import com.hms.app.dto.MedicalRecordSearchResult;
+import com.hms.app.dto.OffsetCursor;
 import com.hms.app.entity.MedicalRecord;
 import com.hms.app.repository.MedicalRecordRepository;
 import com.hms.app.service.MedicalRecordService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +17,9 @@ import java.util.Optional;
 @Service
 public class MedicalRecordServiceImpl implements MedicalRecordService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+
     private final MedicalRecordRepository medicalRecordRepository;
 
     @Autowired
@@ -38,4 +46,27 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
     public void deleteMedicalRecord(Long id) {
         medicalRecordRepository.deleteById(id);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MedicalRecordSearchResult> searchMedicalRecords(String query, MedicalRecordSearchFilter filter,
+                                                                      String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+
+        OffsetCursor position = OffsetCursor.decode(cursor, MAX_SEARCH_OFFSET);
+        List<MedicalRecordSearchResult> rows = medicalRecordRepository.search(
+                query.trim(), filter, position.offset(), pageSize + 1);
+        List<MedicalRecordSearchResult> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        OffsetCursor next = rows.size() > pageSize ? position.advance(pageSize, MAX_SEARCH_OFFSET) : null;
+
+        return CursorPage.<MedicalRecordSearchResult>builder()
+                .items(List.copyOf(items))
+                .nextCursor(next != null ? next.encode() : null)
+                .hasMore(next != null)
+                .limit(pageSize)
+                .build();
+    }
 }
@@ -0,0 +1,436 @@
+package com.hms.app.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hms.app.dto.NurseTaskRequest;
+import com.hms.app.dto.NurseTaskResponse;
+import com.hms.app.entity.NurseTask;
+import com.hms.app.entity.Patient;
+import com.hms.app.entity.User;
+import com.hms.app.enums.NurseTaskPriority;
+import com.hms.app.enums.NurseTaskStatus;
+import com.hms.app.enums.Role;
+import com.hms.app.event.NurseTaskChangedEvent;
+import com.hms.app.exception.ResourceNotFoundException;
+import com.hms.app.repository.AppointmentRepository;
+import com.hms.app.repository.NurseTaskRepository;
+import com.hms.app.repository.PatientRepository;
+import com.hms.app.repository.UserRepository;
+import com.hms.app.service.NurseTaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nurse task queues. Every nurse's open tasks sit in a sorted set ordered
+ * by priority, then due time, so "next tasks" is a walk from the head and
+ * each change is O(log n). The dashboard counts are updated on add and remove
+ * instead of being recounted. Changes arrive as NurseTaskChangedEvents
+ * after commit; a periodic rebuild from the table picks up changes made on
+ * other instances. Events carry the row version, and one older than what a
+ * task already reflects is ignored, so listeners running out of order can't
+ * bring back a stale state.
+ */
+@Slf4j
+@Service
+public class NurseTaskServiceImpl implements NurseTaskService {
+
+    private static final List<NurseTaskStatus> OPEN = List.of(NurseTaskStatus.PENDING, NurseTaskStatus.IN_PROGRESS);
+    private static final int MAX_LIMIT = 100;
+    private static final Comparator<QueuedTask> QUEUE_ORDER = Comparator
+            .comparing(QueuedTask::priority)
+            .thenComparing(QueuedTask::dueAt)
+            .thenComparing(QueuedTask::taskId);
+
+    private final NurseTaskRepository nurseTaskRepository;
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<String, Long> nurseIds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, QueuedTask> tasksById = new HashMap<>();
+    private Map<Long, NurseQueue> queues = new HashMap<>();
+    // Versions of tasks outside every queue (closed or unassigned), kept for two rebuild intervals
+    private Map<Long, Long> untrackedVersions = new HashMap<>();
+    private Map<Long, Long> previousUntrackedVersions = new HashMap<>();
+
+    private volatile boolean rebuilding;
+    private final Object rebuildLock = new Object();
+    private final Queue<NurseTaskChangedEvent> changesDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    public NurseTaskServiceImpl(
+            NurseTaskRepository nurseTaskRepository,
+            PatientRepository patientRepository,
+            AppointmentRepository appointmentRepository,
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.nurse-tasks.identity-cache-max-size:1000}") long identityCacheMaxSize) {
+        this.nurseTaskRepository = nurseTaskRepository;
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.nurseIds = Caffeine.newBuilder()
+                .maximumSize(identityCacheMaxSize)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public NurseTaskResponse createTask(NurseTaskRequest request) {
+        if (request == null || !StringUtils.hasText(request.getTaskType())) {
+            throw new IllegalArgumentException("Task type is required");
+        }
+        if (request.getPatientId() == null) {
+            throw new IllegalArgumentException("Patient is required");
+        }
+
+        Patient patient = patientRepository.findById(request.getPatientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found: " + request.getPatientId()));
+
+        NurseTask task = NurseTask.builder()
+                .patient(patient)
+                .taskType(request.getTaskType().trim())
+                .notes(request.getNotes())
+                .priority(request.getPriority() != null ? request.getPriority() : NurseTaskPriority.NORMAL)
+                .dueAt(request.getDueAt())
+                .build();
+        if (request.getAppointmentId() != null) {
+            task.setAppointment(appointmentRepository.findById(request.getAppointmentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Appointment not found: " + request.getAppointmentId())));
+        }
+        if (request.getNurseId() != null) {
+            task.setAssignedNurse(loadNurse(request.getNurseId()));
+        }
+
+        NurseTask saved = nurseTaskRepository.save(task);
+        log.info("✅ Nurse task {} created for patient {}", saved.getId(), patient.getPatientId());
+        return publish(saved, null);
+    }
+
+    @Override
+    @Transactional
+    public NurseTaskResponse assignTask(Long taskId, Long nurseId, Long actingNurseId) {
+        NurseTask task = loadTask(taskId);
+        Long previousNurseId = assignedNurseId(task);
+        // A nurse may pick up an unassigned task or release their own, not move anyone else's
+        if (actingNurseId != null && ((previousNurseId != null && !previousNurseId.equals(actingNurseId))
+                || (nurseId != null && !nurseId.equals(actingNurseId)))) {
+            throw new AccessDeniedException("Nurses can only assign their own tasks");
+        }
+        if (!task.getStatus().isOpen()) {
+            throw new IllegalArgumentException("Task " + taskId + " is already " + task.getStatus());
+        }
+        task.setAssignedNurse(nurseId != null ? loadNurse(nurseId) : null);
+        nurseTaskRepository.saveAndFlush(task);
+        log.info("Nurse task {} assigned to nurse {}", taskId, nurseId);
+        return publish(task, previousNurseId);
+    }
+
+    @Override
+    @Transactional
+    public NurseTaskResponse updateStatus(Long taskId, NurseTaskStatus status, Long actingNurseId) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        NurseTask task = loadTask(taskId);
+        if (actingNurseId != null && !actingNurseId.equals(assignedNurseId(task))) {
+            throw new AccessDeniedException("Task " + taskId + " is not assigned to you");
+        }
+        if (status == task.getStatus()) {
+            return toResponse(task);  // Nothing to change; keeps completedAt as it was
+        }
+        if (!task.getStatus().isOpen()) {
+            throw new IllegalArgumentException("Task " + taskId + " is already " + task.getStatus());
+        }
+        task.setStatus(status);
+        task.setCompletedAt(status == NurseTaskStatus.COMPLETED ? LocalDateTime.now() : null);
+        nurseTaskRepository.saveAndFlush(task);
+        log.info("Nurse task {} is now {}", taskId, status);
+        return publish(task, assignedNurseId(task));
+    }
+
+    @Override
+    public List<NurseTaskResponse> getNextTasks(Long nurseId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        lock.readLock().lock();
+        try {
+            NurseQueue queue = queues.get(nurseId);
+            if (queue == null) {
+                return List.of();
+            }
+            List<NurseTaskResponse> next = new ArrayList<>(Math.min(size, queue.tasks.size()));
+            Iterator<QueuedTask> it = queue.tasks.iterator();
+            while (it.hasNext() && next.size() < size) {
+                next.add(it.next().toResponse());
+            }
+            return next;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Workload getWorkload(Long nurseId) {
+        lock.readLock().lock();
+        try {
+            NurseQueue queue = queues.get(nurseId);
+            return queue != null ? queue.workload(LocalDate.now()) : new Workload(0, 0, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Long resolveNurseId(String identifier) {
+        String normalized = User.normalizeIdentifier(identifier);
+        Long nurseId = nurseIds.get(normalized, key -> userRepository.findByUsernameOrEmailIgnoreCase(key)
+                .filter(user -> user.getRole() == Role.NURSE)
+                .map(User::getId)
+                .orElse(null));
+        if (nurseId == null) {
+            throw new ResourceNotFoundException("Nurse not found: " + identifier);
+        }
+        return nurseId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.nurse-tasks.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.nurse-tasks.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            changesDuringRebuild.clear();
+            rebuilding = true;
+            try {
+                long started = System.nanoTime();
+                Map<Long, QueuedTask> freshTasks = new HashMap<>();
+                Map<Long, NurseQueue> freshQueues = new HashMap<>();
+                for (NurseTaskRepository.QueuedTaskRow row : nurseTaskRepository.findAssignedTaskRows(OPEN)) {
+                    QueuedTask task = new QueuedTask(row.getTaskId(), row.getNurseId(), row.getPatientId(),
+                            row.getPatientName(), row.getTaskType(), row.getPriority(), row.getStatus(), row.getDueAt(),
+                            row.getVersion() != null ? row.getVersion() : 0L);
+                    freshTasks.put(task.taskId(), task);
+                    freshQueues.computeIfAbsent(task.nurseId(), id -> new NurseQueue()).add(task);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    tasksById = freshTasks;
+                    queues = freshQueues;
+                    previousUntrackedVersions = untrackedVersions;
+                    untrackedVersions = new HashMap<>();
+                    // Commits that landed while we were reading may be missing from the fresh copy
+                    NurseTaskChangedEvent missed;
+                    while ((missed = changesDuringRebuild.poll()) != null) {
+                        apply(missed);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("✅ Nurse task queues built: {} open tasks across {} nurses in {} ms",
+                        freshTasks.size(), freshQueues.size(), (System.nanoTime() - started) / 1_000_000);
+            } catch (Exception e) {
+                log.error("❌ Failed to build nurse task queues: {}", e.getMessage(), e);
+            } finally {
+                rebuilding = false;
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(NurseTaskChangedEvent event) {
+        if (rebuilding) {
+            changesDuringRebuild.add(event);
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Idempotent: drop whatever we hold for the task, then re-add it if it is still queued
+    private void apply(NurseTaskChangedEvent event) {
+        Long appliedVersion = appliedVersion(event.taskId());
+        if (appliedVersion != null && event.version() < appliedVersion) {
+            log.debug("Ignoring stale change of nurse task {} (version {} < {})",
+                    event.taskId(), event.version(), appliedVersion);
+            return;
+        }
+
+        QueuedTask previous = tasksById.remove(event.taskId());
+        if (previous != null) {
+            NurseQueue queue = queues.get(previous.nurseId());
+            if (queue != null && queue.remove(previous) && queue.isEmpty()) {
+                queues.remove(previous.nurseId());
+            }
+        }
+
+        if (event.nurseId() != null && event.status() != null && event.status().isOpen()) {
+            QueuedTask task = new QueuedTask(event.taskId(), event.nurseId(), event.patientId(), event.patientName(),
+                    event.taskType(), event.priority(), event.status(), event.dueAt(), event.version());
+            tasksById.put(task.taskId(), task);
+            queues.computeIfAbsent(task.nurseId(), id -> new NurseQueue()).add(task);
+            untrackedVersions.remove(task.taskId());
+            previousUntrackedVersions.remove(task.taskId());
+        } else {
+            untrackedVersions.put(event.taskId(), event.version());
+        }
+    }
+
+    private Long appliedVersion(Long taskId) {
+        QueuedTask queued = tasksById.get(taskId);
+        if (queued != null) {
+            return queued.version();
+        }
+        Long version = untrackedVersions.get(taskId);
+        return version != null ? version : previousUntrackedVersions.get(taskId);
+    }
+
+    // Expects the task flushed, so its version is the one just written
+    private NurseTaskResponse publish(NurseTask task, Long previousNurseId) {
+        Patient patient = task.getPatient();
+        eventPublisher.publishEvent(new NurseTaskChangedEvent(task.getId(), assignedNurseId(task), previousNurseId,
+                patient.getPatientId(), patientName(patient), task.getTaskType(), task.getPriority(), task.getStatus(),
+                task.getDueAt(), task.getVersion() != null ? task.getVersion() : 0L));
+        return toResponse(task);
+    }
+
+    private static NurseTaskResponse toResponse(NurseTask task) {
+        Patient patient = task.getPatient();
+        return NurseTaskResponse.builder()
+                .taskId(task.getId())
+                .patientId(patient.getPatientId())
+                .patientName(patientName(patient))
+                .nurseId(assignedNurseId(task))
+                .taskType(task.getTaskType())
+                .priority(task.getPriority())
+                .status(task.getStatus())
+                .dueAt(task.getDueAt())
+                .build();
+    }
+
+    private static String patientName(Patient patient) {
+        return patient.getFirstName() + " " + patient.getLastName();
+    }
+
+    private static Long assignedNurseId(NurseTask task) {
+        return task.getAssignedNurse() != null ? task.getAssignedNurse().getId() : null;
+    }
+
+    private NurseTask loadTask(Long taskId) {
+        return nurseTaskRepository.findByIdWithPatientAndNurse(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Nurse task not found: " + taskId));
+    }
+
+    private User loadNurse(Long nurseId) {
+        User nurse = userRepository.findById(nurseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Nurse not found: " + nurseId));
+        if (nurse.getRole() != Role.NURSE) {
+            throw new IllegalArgumentException("User " + nurseId + " is not a nurse");
+        }
+        return nurse;
+    }
+
+    private record QueuedTask(Long taskId, Long nurseId, Long patientId, String patientName, String taskType,
+                              NurseTaskPriority priority, NurseTaskStatus status, LocalDateTime dueAt, long version) {
+
+        NurseTaskResponse toResponse() {
+            return NurseTaskResponse.builder()
+                    .taskId(taskId)
+                    .patientId(patientId)
+                    .patientName(patientName)
+                    .nurseId(nurseId)
+                    .taskType(taskType)
+                    .priority(priority)
+                    .status(status)
+                    .dueAt(dueAt)
+                    .build();
+        }
+    }
+
+    /**
+     * One nurse's open tasks plus the counters behind the dashboard. Only
+     * touched under the service's lock.
+     */
+    private static final class NurseQueue {
+        private final TreeSet<QueuedTask> tasks = new TreeSet<>(QUEUE_ORDER);
+        private final Map<Long, Integer> openTasksByPatient = new HashMap<>();
+        private final NavigableMap<LocalDate, Integer> openTasksByDueDay = new TreeMap<>();
+        private int urgentTasks;
+
+        void add(QueuedTask task) {
+            if (!tasks.add(task)) {
+                return;
+            }
+            openTasksByPatient.merge(task.patientId(), 1, Integer::sum);
+            openTasksByDueDay.merge(task.dueAt().toLocalDate(), 1, Integer::sum);
+            if (task.priority() == NurseTaskPriority.URGENT) {
+                urgentTasks++;
+            }
+        }
+
+        boolean remove(QueuedTask task) {
+            if (!tasks.remove(task)) {
+                return false;
+            }
+            decrement(openTasksByPatient, task.patientId());
+            decrement(openTasksByDueDay, task.dueAt().toLocalDate());
+            if (task.priority() == NurseTaskPriority.URGENT) {
+                urgentTasks--;
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return tasks.isEmpty();
+        }
+
+        // Today's work includes anything overdue that is still open
+        Workload workload(LocalDate today) {
+            int dueByToday = 0;
+            for (int count : openTasksByDueDay.headMap(today, true).values()) {
+                dueByToday += count;
+            }
+            return new Workload(openTasksByPatient.size(), dueByToday, urgentTasks);
+        }
+
+        private static <K> void decrement(Map<K, Integer> counts, K key) {
+            counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
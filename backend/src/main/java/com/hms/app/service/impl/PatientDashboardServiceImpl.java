@@ -0,0 +1,223 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.dto.PatientDashboardData;
+import com.hms.app.entity.Appointment;
+import com.hms.app.entity.Doctor;
+import com.hms.app.entity.Patient;
+import com.hms.app.entity.User;
+import com.hms.app.enums.AppointmentStatus;
+import com.hms.app.enums.Role;
+import com.hms.app.repository.AppointmentRepository;
+import com.hms.app.repository.BillingRepository;
+import com.hms.app.repository.MedicalRecordRepository;
+import com.hms.app.repository.PatientRepository;
+import com.hms.app.service.PatientDashboardService;
+import com.hms.app.service.RoutingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the patient dashboard. The patient and account are resolved in one
+ * query, then the independent sections are read in parallel on a small bounded
+ * pool under a per-request deadline. A section that fails, is rejected by a
+ * saturated pool or misses the deadline is left out and listed in
+ * unavailableSections instead of failing the page. Each section runs in its
+ * own read-only transaction whose timeout is the time left to the deadline,
+ * so a late query is cancelled by the driver and gives its connection back.
+ */
+@Slf4j
+@Service
+public class PatientDashboardServiceImpl implements PatientDashboardService {
+
+    private static final int RECENT_APPOINTMENTS = 5;
+
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final BillingRepository billingRepository;
+    private final RoutingService routingService;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolExecutor sectionPool;
+    private final long deadlineMillis;
+
+    public PatientDashboardServiceImpl(
+            PatientRepository patientRepository,
+            AppointmentRepository appointmentRepository,
+            MedicalRecordRepository medicalRecordRepository,
+            BillingRepository billingRepository,
+            RoutingService routingService,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${app.dashboard.patient.threads:4}") int maxThreads,
+            @Value("${app.dashboard.patient.queue-capacity:64}") int queueCapacity,
+            @Value("${app.dashboard.patient.deadline-ms:1500}") long deadlineMillis) {
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.billingRepository = billingRepository;
+        this.routingService = routingService;
+        this.transactionManager = transactionManager;
+        this.deadlineMillis = deadlineMillis;
+
+        // Request threads hold a connection too (open-in-view), so sections get at most a third of the rest
+        int threads = Math.max(1, Math.min(maxThreads, (connectionPoolSize - 1) / 3));
+        log.info("Patient dashboard sections run on {} threads ({} pooled connections)", threads, connectionPoolSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sectionPool = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "patient-dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public Optional<PatientDashboardData> getDashboard(String identifier) {
+        Optional<Patient> found = patientRepository.findByUserIdentifier(User.normalizeIdentifier(identifier));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Patient patient = found.get();
+        Long patientId = patient.getPatientId();
+        LocalDateTime now = LocalDateTime.now();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+        Future<Integer> upcoming = submit(deadline, () -> appointmentRepository
+                .countByPatientAndStatusAndAppointmentTimeAfter(patientId, AppointmentStatus.SCHEDULED, now));
+        Future<Integer> records = submit(deadline, () -> medicalRecordRepository.countByPatient(patient));
+        Future<BigDecimal> bills = submit(deadline, () -> billingRepository.sumOutstandingByPatientId(patientId));
+        Future<List<PatientDashboardData.UpcomingAppointment>> recent = submit(deadline, () -> appointmentRepository
+                .findRecentByPatientId(patientId, Limit.of(RECENT_APPOINTMENTS)).stream()
+                .map(PatientDashboardServiceImpl::toUpcomingAppointment)
+                .toList());
+        Future<Optional<Appointment>> next = submit(deadline, () -> appointmentRepository
+                .findNextScheduledByPatientId(patientId, now, Limit.of(1)).stream().findFirst());
+
+        List<String> unavailable = new ArrayList<>();
+        PatientDashboardData.PatientDashboardDataBuilder dashboard = PatientDashboardData.builder()
+                .status("success")
+                .welcomeMessage("Welcome back, " + patient.getFirstName() + "!")
+                .upcomingAppointments(await("upcomingAppointments", upcoming, deadline, unavailable))
+                .medicalRecordsCount(await("medicalRecordsCount", records, deadline, unavailable))
+                .activePrescriptions(0)  // Prescriptions carry no active/expired state yet
+                .outstandingBills(await("outstandingBills", bills, deadline, unavailable))
+                .appointments(await("appointments", recent, deadline, unavailable))
+                .redirectUrl(routingService.getRedirectUrlByRole(Role.PATIENT))
+                .patientInfo(toPatientInfo(patient));
+
+        Optional<Appointment> nextAppointment = await("nextAppointment", next, deadline, unavailable);
+        if (nextAppointment != null) {
+            nextAppointment.ifPresent(appointment -> dashboard
+                    .nextAppointment(appointment.getAppointmentDateTime())
+                    .nextAppointmentDoctor(doctorName(appointment.getDoctor())));
+        }
+
+        if (!unavailable.isEmpty()) {
+            log.warn("⚠️ Patient dashboard for {} served without: {}", patientId, unavailable);
+            dashboard.unavailableSections(unavailable);
+        }
+        return Optional.of(dashboard.build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sectionPool.shutdownNow();
+    }
+
+    // A plain Future, so a missed deadline interrupts the section instead of just abandoning it
+    private <T> Future<T> submit(long deadline, Supplier<T> section) {
+        try {
+            return sectionPool.submit(() -> {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("Deadline passed while queued");
+                }
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                transaction.setReadOnly(true);
+                transaction.setTimeout((int) Math.ceil(remainingMillis / 1000.0));  // Applied as each query's timeout
+                return transaction.execute(status -> section.get());
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Every section shares the same deadline, so the page waits at most deadline-ms in total
+    private static <T> T await(String section, Future<T> future, long deadline, List<String> unavailable) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("⚠️ Dashboard section {} missed the deadline", section);
+        } catch (ExecutionException e) {
+            log.warn("⚠️ Dashboard section {} failed: {}", section, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(section);
+        return null;
+    }
+
+    private static PatientDashboardData.UpcomingAppointment toUpcomingAppointment(Appointment appointment) {
+        Doctor doctor = appointment.getDoctor();
+        return PatientDashboardData.UpcomingAppointment.builder()
+                .appointmentId(appointment.getAppointmentId())
+                .doctorName(doctorName(doctor))
+                .specialization(doctor.getSpecialization())
+                .appointmentDateTime(appointment.getAppointmentDateTime())
+                .reason(appointment.getReason())
+                .status(appointment.getStatus().name())
+                .doctor(PatientDashboardData.DoctorInfo.builder()
+                        .doctorId(doctor.getDoctorId())
+                        .firstName(doctor.getFirstName())
+                        .lastName(doctor.getLastName())
+                        .specialization(doctor.getSpecialization())
+                        .build())
+                .build();
+    }
+
+    private static PatientDashboardData.PatientInfo toPatientInfo(Patient patient) {
+        return PatientDashboardData.PatientInfo.builder()
+                .patientId(patient.getPatientId())
+                .firstName(patient.getFirstName())
+                .lastName(patient.getLastName())
+                .email(patient.getUser() != null ? patient.getUser().getEmail() : null)
+                .dateOfBirth(patient.getDateOfBirth())
+                .gender(patient.getGender())
+                .contactNumber(patient.getContactNumber())
+                .bloodGroup(patient.getBloodGroup())
+                .build();
+    }
+
+    private static String doctorName(Doctor doctor) {
+        return "Dr. " + doctor.getFirstName() + " " + doctor.getLastName();
+    }
+}
@@ -0,0 +1,308 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.dto.DemographicLookupResponse;
+import com.hms.app.dto.PatientContactResult;
+import com.hms.app.dto.PatientDemographicFilter;
+import com.hms.app.enums.BloodGroup;
+import com.hms.app.enums.Gender;
+import com.hms.app.event.PatientChangedEvent;
+import com.hms.app.repository.PatientRepository;
+import com.hms.app.service.PatientDemographicsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bitmap index over patient demographics. Patient ids are dense
+ * identity values, so each blood group, gender and birth year is a BitSet
+ * with one bit per patient, and a combined filter is an OR within each
+ * criterion followed by an AND across them. Birth year stands in for an age
+ * bucket because it never changes; an age range ORs the years fully inside
+ * it and checks exact birth dates only in the two boundary years.
+ * Maintained from PatientChangedEvents after commit and rebuilt from the
+ * table at startup and on a schedule.
+ */
+@Slf4j
+@Service
+public class PatientDemographicsServiceImpl implements PatientDemographicsService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    private volatile boolean rebuilding;
+    private final Object rebuildLock = new Object();
+    private final Queue<PatientChangedEvent> changesDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    public PatientDemographicsServiceImpl(PatientRepository patientRepository,
+                                          PlatformTransactionManager transactionManager) {
+        this.patientRepository = patientRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public DemographicLookupResponse lookup(PatientDemographicFilter filter, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        BitSet matches = match(filter);
+
+        List<Long> ids = new ArrayList<>(Math.min(max, matches.cardinality()));
+        for (int id = matches.nextSetBit(0); id >= 0 && ids.size() < max; id = matches.nextSetBit(id + 1)) {
+            ids.add((long) id);
+        }
+        // A patient deleted on another instance since the last rebuild is simply not found here
+        List<PatientContactResult> patients = ids.isEmpty() ? List.of() : patientRepository.findContactRows(ids);
+
+        long total = matches.cardinality();
+        return DemographicLookupResponse.builder()
+                .matches(total)
+                .truncated(total > ids.size())
+                .patients(patients)
+                .build();
+    }
+
+    @Override
+    public long count(PatientDemographicFilter filter) {
+        return match(filter).cardinality();
+    }
+
+    private BitSet match(PatientDemographicFilter filter) {
+        LocalDate today = LocalDate.now();
+        lock.readLock().lock();
+        try {
+            return index.match(filter, today);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.patients.demographics.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.patients.demographics.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            changesDuringRebuild.clear();
+            rebuilding = true;
+            try {
+                long started = System.nanoTime();
+                Index fresh = new Index();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<PatientRepository.DemographicRow> rows = patientRepository.streamDemographicRows()) {
+                        rows.forEach(row -> fresh.put(row.getPatientId(), row.getBloodGroup(),
+                                row.getGender(), row.getDateOfBirth()));
+                    }
+                });
+
+                lock.writeLock().lock();
+                try {
+                    index = fresh;
+                    // Commits that landed while we were reading may be missing from the fresh copy
+                    PatientChangedEvent missed;
+                    while ((missed = changesDuringRebuild.poll()) != null) {
+                        apply(missed);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("✅ Patient demographic index built: {} patients in {} ms",
+                        fresh.size(), (System.nanoTime() - started) / 1_000_000);
+            } catch (Exception e) {
+                log.error("❌ Failed to build patient demographic index: {}", e.getMessage(), e);
+            } finally {
+                rebuilding = false;
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (rebuilding) {
+            changesDuringRebuild.add(event);
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(PatientChangedEvent event) {
+        if (event.removed()) {
+            index.remove(event.patientId());
+        } else {
+            index.put(event.patientId(), event.bloodGroup(), event.gender(), event.dateOfBirth());
+        }
+    }
+
+    /**
+     * Bitmaps plus the per-patient values needed to clear a patient's old
+     * bits on update. Not thread-safe; guarded by the service's lock.
+     */
+    private static final class Index {
+
+        private static final byte NONE = -1;
+        private static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+
+        private final BitSet all = new BitSet();
+        private final Map<BloodGroup, BitSet> byBloodGroup = new EnumMap<>(BloodGroup.class);
+        private final Map<Gender, BitSet> byGender = new EnumMap<>(Gender.class);
+        private final NavigableMap<Integer, BitSet> byBirthYear = new TreeMap<>();
+
+        private byte[] bloodGroupOf = new byte[0];
+        private byte[] genderOf = new byte[0];
+        private int[] birthDayOf = new int[0];  // epoch day
+
+        // Idempotent: clears whatever is held for the patient, then sets the new bits
+        void put(Long patientId, BloodGroup bloodGroup, Gender gender, LocalDate dateOfBirth) {
+            int id = toIndex(patientId);
+            remove(patientId);
+            ensureCapacity(id);
+
+            all.set(id);
+            if (bloodGroup != null) {
+                byBloodGroup.computeIfAbsent(bloodGroup, g -> new BitSet()).set(id);
+                bloodGroupOf[id] = (byte) bloodGroup.ordinal();
+            }
+            if (gender != null) {
+                byGender.computeIfAbsent(gender, g -> new BitSet()).set(id);
+                genderOf[id] = (byte) gender.ordinal();
+            }
+            if (dateOfBirth != null) {
+                byBirthYear.computeIfAbsent(dateOfBirth.getYear(), y -> new BitSet()).set(id);
+                birthDayOf[id] = (int) dateOfBirth.toEpochDay();
+            }
+        }
+
+        void remove(Long patientId) {
+            int id = toIndex(patientId);
+            if (!all.get(id)) {
+                return;
+            }
+            all.clear(id);
+            if (bloodGroupOf[id] != NONE) {
+                byBloodGroup.get(BloodGroup.values()[bloodGroupOf[id]]).clear(id);
+                bloodGroupOf[id] = NONE;
+            }
+            if (genderOf[id] != NONE) {
+                byGender.get(Gender.values()[genderOf[id]]).clear(id);
+                genderOf[id] = NONE;
+            }
+            if (birthDayOf[id] != NO_BIRTH_DATE) {
+                byBirthYear.get(LocalDate.ofEpochDay(birthDayOf[id]).getYear()).clear(id);
+                birthDayOf[id] = NO_BIRTH_DATE;
+            }
+        }
+
+        int size() {
+            return all.cardinality();
+        }
+
+        BitSet match(PatientDemographicFilter filter, LocalDate today) {
+            BitSet result = (BitSet) all.clone();
+            if (filter == null) {
+                return result;
+            }
+            if (filter.getBloodGroups() != null && !filter.getBloodGroups().isEmpty()) {
+                result.and(union(byBloodGroup, filter.getBloodGroups()));
+            }
+            if (filter.getGenders() != null && !filter.getGenders().isEmpty()) {
+                result.and(union(byGender, filter.getGenders()));
+            }
+            if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+                result.and(bornBetween(filter, today));
+            }
+            return result;
+        }
+
+        private static <K> BitSet union(Map<K, BitSet> bitmaps, Iterable<K> keys) {
+            BitSet union = new BitSet();
+            for (K key : keys) {
+                BitSet bits = bitmaps.get(key);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            return union;
+        }
+
+        // Same bounds as the SQL directory: at least minAge, and not yet maxAge + 1
+        private BitSet bornBetween(PatientDemographicFilter filter, LocalDate today) {
+            LocalDate latest = filter.getMinAge() != null ? today.minusYears(filter.getMinAge()) : LocalDate.MAX;
+            LocalDate earliestExclusive = filter.getMaxAge() != null
+                    ? today.minusYears(filter.getMaxAge() + 1L) : LocalDate.MIN;
+            BitSet born = new BitSet();
+            if (!latest.isAfter(earliestExclusive)) {
+                return born;
+            }
+
+            int firstYear = earliestExclusive.getYear();
+            int lastYear = latest.getYear();
+            for (Map.Entry<Integer, BitSet> year : byBirthYear.subMap(firstYear, true, lastYear, true).entrySet()) {
+                if (year.getKey() > firstYear && year.getKey() < lastYear) {
+                    born.or(year.getValue());  // Whole year is inside the range
+                    continue;
+                }
+                long min = earliestExclusive.toEpochDay();
+                long max = latest.toEpochDay();
+                BitSet bits = year.getValue();
+                for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+                    if (birthDayOf[id] > min && birthDayOf[id] <= max) {
+                        born.set(id);
+                    }
+                }
+            }
+            return born;
+        }
+
+        private void ensureCapacity(int id) {
+            if (id < bloodGroupOf.length) {
+                return;
+            }
+            int length = Math.max(id + 1, Math.max(16, bloodGroupOf.length * 2));
+            int from = bloodGroupOf.length;
+            bloodGroupOf = Arrays.copyOf(bloodGroupOf, length);
+            genderOf = Arrays.copyOf(genderOf, length);
+            birthDayOf = Arrays.copyOf(birthDayOf, length);
+            Arrays.fill(bloodGroupOf, from, length, NONE);
+            Arrays.fill(genderOf, from, length, NONE);
+            Arrays.fill(birthDayOf, from, length, NO_BIRTH_DATE);
+        }
+
+        private static int toIndex(Long patientId) {
+            if (patientId == null || patientId < 0 || patientId > Integer.MAX_VALUE - 1) {
+                throw new IllegalArgumentException("Patient id out of index range: " + patientId);
+            }
+            return patientId.intValue();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.hms.app.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hms.app.dto.PatientExportRow;
+import com.hms.app.enums.ExportFormat;
+import com.hms.app.repository.PatientRepository;
+import com.hms.app.service.PatientExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Patient export. The body runs on the MVC async executor in its own
+ * read-only transaction, which Postgres needs for the fetch-size cursor to
+ * actually stream instead of buffering the whole result. Each export holds
+ * a connection until the client has read everything, so they are capped.
+ */
+@Slf4j
+@Service
+public class PatientExportServiceImpl implements PatientExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] CSV_HEADER = {
+            "id", "patientId", "firstName", "lastName", "email", "dateOfBirth", "gender",
+            "phoneNumber", "address", "bloodGroup", "emergencyContactName", "emergencyContactNumber"
+    };
+
+    private final PatientRepository patientRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+
+    public PatientExportServiceImpl(
+            PatientRepository patientRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.patients.export.max-concurrent:2}") int maxConcurrent) {
+        this.patientRepository = patientRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public StreamingResponseBody export(ExportFormat format) {
+        if (!permits.tryAcquire()) {
+            throw new IllegalStateException("Too many patient exports in progress");
+        }
+        return out -> {
+            long started = System.currentTimeMillis();
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+                long rows = readOnlyTransaction.execute(status -> {
+                    try (Stream<PatientExportRow> stream = patientRepository.streamExportRows()) {
+                        return write(format, stream.iterator(), writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+                log.info("📤 Exported {} patients as {} in {} ms", rows, format, System.currentTimeMillis() - started);
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; closing the stream has already released the cursor
+                log.warn("⚠️ Patient export aborted: {}", e.getCause().getMessage());
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private long write(ExportFormat format, Iterator<PatientExportRow> rows, Writer writer) throws IOException {
+        long count = 0;
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, (Object[]) CSV_HEADER);
+        }
+        while (rows.hasNext()) {
+            PatientExportRow row = rows.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, row.getId(), row.getPatientId(), row.getFirstName(), row.getLastName(),
+                        row.getEmail(), row.getDateOfBirth(), row.getGender(), row.getPhoneNumber(),
+                        row.getAddress(), row.getBloodGroup(), row.getEmergencyContactName(),
+                        row.getEmergencyContactNumber());
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting, plus a leading quote on cells a spreadsheet would evaluate as a formula
+    private static String csvField(String value) {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
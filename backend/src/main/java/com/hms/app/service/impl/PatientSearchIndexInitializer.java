@@ -0,0 +1,57 @@
+package com.hms.app.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Installs pg_trgm and the trigram GIN indexes behind patient search.
+ * Hibernate can't express operator-class indexes, so they are created here.
+ * Idempotent, and built CONCURRENTLY so a large patients table stays writable.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientSearchIndexInitializer implements CommandLineRunner {
+
+    private static final Map<String, String> INDEXES = Map.of(
+            // Expression must match PatientSearchRepositoryImpl.NAME exactly
+            "ix_patients_name_trgm",
+            "ON patients USING gin ((lower(first_name || ' ' || last_name)) gin_trgm_ops)",
+            "ix_users_email_normalized_trgm",
+            "ON users USING gin (email_normalized gin_trgm_ops)"
+    );
+
+    // An interrupted concurrent build leaves an invalid index that IF NOT EXISTS would keep skipping
+    private static final String IS_INVALID_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+            "WHERE c.relname = ? AND NOT i.indisvalid)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (Exception e) {
+            // Usually missing privileges; search still works, just without typo tolerance
+            log.warn("⚠️ Could not install pg_trgm, patient search will use substring matching: {}", e.getMessage());
+            return;
+        }
+        INDEXES.forEach((name, definition) -> {
+            try {
+                if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_INVALID_SQL, Boolean.class, name))) {
+                    jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+                }
+                jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " " + definition);
+            } catch (Exception e) {
+                log.error("❌ Failed to create patient search index {}: {}", name, e.getMessage(), e);
+            }
+        });
+        log.info("✅ Patient search trigram indexes ready");
+    }
+}
@@ -1,15 +1,24 @@
 package com.hms.app.service.impl;
 
+import com.hms.app.dto.CursorPage;
+import com.hms.app.dto.OffsetCursor;
+import com.hms.app.dto.PageResponse;
+import com.hms.app.dto.PatientDirectoryFilter;
+import com.hms.app.dto.PatientResponse;
+import com.hms.app.dto.PatientSearchResult;
 import com.hms.app.entity.Patient;
 import com.hms.app.exception.ResourceNotFoundException;
 import com.hms.app.repository.PatientRepository;
 import com.hms.app.service.PatientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Slf4j
@@ -17,15 +26,61 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class PatientServiceImpl implements PatientService {
 
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+    private static final int MAX_DIRECTORY_OFFSET = 10_000;  // Deeper pages should use the filters instead
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_OFFSET = 1000;  // Nobody pages this far; refine the query instead
+
     private final PatientRepository patientRepository;
 
     @Override
     @Transactional(readOnly = true)
-    public List<Patient> getAllPatients() {
-        log.info("Fetching all patients from database");
-        List<Patient> patients = patientRepository.findAllWithUser();  // ✅ Eager fetch user data
-        log.info("Found {} patients", patients.size());
-        return patients;
+    public PageResponse<PatientResponse> getPatientDirectory(PatientDirectoryFilter filter, int page, int size,
+                                                             String sort, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE_SIZE));
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if ((long) page * pageSize > MAX_DIRECTORY_OFFSET) {
+            throw new IllegalArgumentException("Page " + page + " is too deep; narrow the filters instead");
+        }
+        int pageNumber = page;
+        int offset = pageNumber * pageSize;
+        LocalDate today = LocalDate.now();
+
+        // One extra row answers hasNext, so the count query can be skipped entirely
+        List<PatientResponse> rows = patientRepository.findDirectoryPage(
+                filter, today, parseSort(sort), offset, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<PatientResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+
+        PageResponse.PageResponseBuilder<PatientResponse> response = PageResponse.<PatientResponse>builder()
+                .items(List.copyOf(items))
+                .page(pageNumber)
+                .size(pageSize)
+                .hasNext(hasNext);
+        if (includeTotal) {
+            // Last page already tells us the total without counting
+            long total = hasNext || (items.isEmpty() && offset > 0)
+                    ? patientRepository.countDirectory(filter, today)
+                    : offset + items.size();
+            response.totalElements(total).totalPages((int) ((total + pageSize - 1) / pageSize));
+        }
+        return response.build();
+    }
+
+    private static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (parts.length == 1) {
+            return Sort.by(property);
+        }
+        // Unknown properties are rejected by the repository's whitelist
+        return Sort.by(Sort.Direction.fromString(parts[1].trim()), property);
     }
 
     @Override
@@ -75,4 +130,27 @@ public class PatientServiceImpl implements PatientService {
         patientRepository.delete(patient);
         log.info("✅ Patient deleted successfully");
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PatientSearchResult> searchPatients(String query, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        String normalized = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            return CursorPage.<PatientSearchResult>builder().items(List.of()).limit(pageSize).build();
+        }
+
+        OffsetCursor position = OffsetCursor.decode(cursor, MAX_SEARCH_OFFSET);
+        List<PatientSearchResult> rows = patientRepository.searchRanked(normalized, position.offset(), pageSize + 1);
+        List<PatientSearchResult> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        OffsetCursor next = rows.size() > pageSize ? position.advance(pageSize, MAX_SEARCH_OFFSET) : null;
+        log.debug("Patient search '{}' (offset {}) returned {} results", normalized, position.offset(), items.size());
+
+        return CursorPage.<PatientSearchResult>builder()
+                .items(List.copyOf(items))
+                .nextCursor(next != null ? next.encode() : null)
+                .hasMore(next != null)
+                .limit(pageSize)
+                .build();
+    }
 }
@@ -0,0 +1,141 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.entity.RefreshToken;
+import com.hms.app.entity.User;
+import com.hms.app.exception.InvalidRefreshTokenException;
+import com.hms.app.repository.RefreshTokenRepository;
+import com.hms.app.repository.UserRepository;
+import com.hms.app.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens: 256 random bits handed to the client, SHA-256 hash
+ * kept in the database. A refresh is one indexed lookup plus a conditional
+ * update - no password hashing and no AuthenticationManager.
+ */
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final long ttlSeconds;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            @Value("${application.security.jwt.refresh-token.ttl-seconds:1209600}") long ttlSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    @Transactional
+    public String issue(User user) {
+        return issue(user, user.currentTokenVersion(), UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional
+    public String issue(Long userId, int tokenVersion) {
+        // A reference is enough for the foreign key; the user row isn't read
+        return issue(userRepository.getReferenceById(userId), tokenVersion, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)  // Keep the family revocation on reuse
+    public Rotation rotate(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+
+        RefreshToken stored = refreshTokenRepository.findByTokenHashWithUser(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (stored.isSpent() || refreshTokenRepository.markRotated(stored.getId(), now) == 0) {
+            // A rotated token coming back means it leaked - kill every token of that login
+            int revoked = refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            log.warn("⚠️ Refresh token reuse detected for user {} - revoked {} tokens in family {}",
+                    stored.getUser().getId(), revoked, stored.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+
+        if (stored.isExpired(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        User user = stored.getUser();
+        if (!user.isEnabled() || !Boolean.TRUE.equals(user.getIsActive())
+                || stored.getTokenVersion() != user.currentTokenVersion()) {
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Session is no longer valid, please log in again");
+        }
+
+        return new Rotation(user, issue(user, user.currentTokenVersion(), stored.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHashWithUser(hash(refreshToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Override
+    @Scheduled(cron = "${application.security.jwt.refresh-token.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public int purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("🧹 Purged {} expired refresh tokens", deleted);
+        }
+        return deleted;
+    }
+
+    private String issue(User user, int tokenVersion, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .tokenVersion(tokenVersion)
+                .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                .build());
+        return rawToken;
+    }
+
+    // Tokens are high-entropy random values, so a fast unsalted digest is enough
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
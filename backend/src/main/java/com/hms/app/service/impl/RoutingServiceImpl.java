@@ -1,15 +1,17 @@
 package com.hms.app.service.impl;
 
 import com.hms.app.enums.Role;
+import com.hms.app.security.RouteClassifier;
 import com.hms.app.service.RoutingService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
-import java.util.Set;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class RoutingServiceImpl implements RoutingService {
 
     private static final Map<Role, String> ROLE_DASHBOARD_MAPPING = Map.of(
@@ -21,13 +23,7 @@ public class RoutingServiceImpl implements RoutingService {
 
     );
 
-    private static final Map<Role, Set<String>> ROLE_ACCESS_MAPPING = Map.of(
-            Role.ADMIN, Set.of("/admin", "/doctor", "/patient", "/nurse", "/receptionist", "/pharmacy", "/lab"),
-            Role.DOCTOR, Set.of("/doctor", "/patient"),
-            Role.PATIENT, Set.of("/patient"),
-            Role.NURSE, Set.of("/nurse", "/patient"),
-            Role.RECEPTIONIST,       Set.of("/receptionist", "/patient")
-    );
+    private final RouteClassifier routeClassifier;
 
     @Override
     public String getRedirectUrlByRole(Role role) {
@@ -43,9 +39,7 @@ public class RoutingServiceImpl implements RoutingService {
 
     @Override
     public boolean hasAccessToPath(Role userRole, String requestedPath) {
-        Set<String> allowedPaths = ROLE_ACCESS_MAPPING.getOrDefault(userRole, Set.of());
-        boolean hasAccess = allowedPaths.stream()
-                .anyMatch(requestedPath::startsWith);
+        boolean hasAccess = routeClassifier.hasAccessToArea(userRole, requestedPath);
         log.debug("Role {} access to path {}: {}", userRole, requestedPath, hasAccess);
         return hasAccess;
     }
@@ -0,0 +1,222 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.entity.Appointment;
+import com.hms.app.entity.AppointmentSlot;
+import com.hms.app.enums.AppointmentStatus;
+import com.hms.app.event.AppointmentChangedEvent;
+import com.hms.app.exception.SlotUnavailableException;
+import com.hms.app.repository.AppointmentRepository;
+import com.hms.app.repository.AppointmentSlotRepository;
+import com.hms.app.service.SlotReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Double-booking guard. Bookings for the same doctor first queue on an
+ * in-memory lock stripe, so on one instance they don't pile up on the
+ * database. Then the slot row is inserted optimistically. The unique
+ * (doctor_id, slot_start) constraint rejects any race the stripes can't
+ * see, such as bookings made on another instance.
+ */
+@Slf4j
+@Service
+public class SlotReservationServiceImpl implements SlotReservationService {
+
+    private static final int STRIPES = 64;  // power of two
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentSlotRepository slotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int slotMinutes;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public SlotReservationServiceImpl(
+            AppointmentRepository appointmentRepository,
+            AppointmentSlotRepository slotRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.appointments.slot-minutes:15}") int slotMinutes) {
+        if (slotMinutes <= 0 || 60 % slotMinutes != 0) {
+            throw new IllegalArgumentException("app.appointments.slot-minutes must divide 60, got " + slotMinutes);
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.slotRepository = slotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.slotMinutes = slotMinutes;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Appointment book(Appointment appointment) {
+        validate(appointment);
+        Long doctorId = appointment.getDoctor().getDoctorId();
+        LocalDateTime slot = slotStart(appointment.getAppointmentDateTime());
+        Long originalId = appointment.getAppointmentId();
+
+        // Held until after commit, so the next booking for this doctor sees our row
+        ReentrantLock lock = stripeFor(doctorId);
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to book appointment", e);
+        }
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> saveWithSlot(appointment, doctorId, slot));
+                } catch (DataIntegrityViolationException e) {
+                    appointment.setAppointmentId(originalId);  // Undo the id assigned by the rolled-back insert
+                    SlotState state = resolveConflict(doctorId, slot);
+                    if (state == SlotState.FREE && attempt >= MAX_ATTEMPTS) {
+                        throw e;  // Not a slot conflict (e.g. unknown patient/doctor)
+                    }
+                    if (state == SlotState.TAKEN || attempt >= MAX_ATTEMPTS) {
+                        log.info("⛔ Slot {} already booked for doctor {}", slot, doctorId);
+                        throw new SlotUnavailableException(
+                                "Doctor already has an appointment at " + slot, e);
+                    }
+                } catch (TransientDataAccessException e) {
+                    appointment.setAppointmentId(originalId);
+                    if (attempt >= MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                    log.warn("⚠️ Transient failure booking slot {} for doctor {} (attempt {}): {}",
+                            slot, doctorId, attempt, e.getMessage());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Long appointmentId) {
+        slotRepository.findByAppointmentId(appointmentId).ifPresent(existing -> {
+            slotRepository.deleteByAppointmentId(appointmentId);
+            publishChange(appointmentId, existing, null, null);
+        });
+    }
+
+    @Override
+    public LocalDateTime slotStart(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.minusMinutes(minute.getMinute() % slotMinutes);
+    }
+
+    @Override
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    private Appointment saveWithSlot(Appointment appointment, Long doctorId, LocalDateTime slot) {
+        Appointment saved = appointmentRepository.save(appointment);
+        Long appointmentId = saved.getAppointmentId();
+        AppointmentSlot current = slotRepository.findByAppointmentId(appointmentId).orElse(null);
+
+        if (!holdsSlot(saved.getStatus())) {
+            if (current != null) {
+                slotRepository.deleteByAppointmentId(appointmentId);
+            }
+            publishChange(appointmentId, current, null, null);
+            return saved;
+        }
+
+        boolean unchanged = current != null
+                && current.getDoctorId().equals(doctorId)
+                && current.getSlotStart().equals(slot);
+        if (!unchanged) {
+            if (current != null) {
+                slotRepository.deleteByAppointmentId(appointmentId);
+            }
+            // Flush now so a conflict surfaces here as DataIntegrityViolationException, not at commit
+            slotRepository.saveAndFlush(AppointmentSlot.builder()
+                    .doctorId(doctorId)
+                    .slotStart(slot)
+                    .appointmentId(appointmentId)
+                    .build());
+        }
+        publishChange(appointmentId, current, doctorId, slot);
+        return saved;
+    }
+
+    // Listeners use @TransactionalEventListener, so nothing is applied if the booking rolls back
+    private void publishChange(Long appointmentId, AppointmentSlot previous, Long doctorId, LocalDateTime slot) {
+        eventPublisher.publishEvent(new AppointmentChangedEvent(
+                appointmentId,
+                previous != null ? previous.getDoctorId() : null,
+                previous != null ? previous.getSlotStart() : null,
+                doctorId,
+                slot
+        ));
+    }
+
+    // A slot row whose appointment was deleted or canceled without releasing it must not block the slot forever
+    private SlotState resolveConflict(Long doctorId, LocalDateTime slot) {
+        return transactionTemplate.execute(status -> {
+            Optional<AppointmentSlot> existing = slotRepository.findByDoctorIdAndSlotStart(doctorId, slot);
+            if (existing.isEmpty()) {
+                return SlotState.FREE;
+            }
+
+            AppointmentSlot held = existing.get();
+            boolean active = appointmentRepository.findById(held.getAppointmentId())
+                    .map(holder -> holdsSlot(holder.getStatus()))
+                    .orElse(false);
+            if (active) {
+                return SlotState.TAKEN;
+            }
+
+            slotRepository.delete(held);
+            publishChange(held.getAppointmentId(), held, null, null);
+            log.warn("🧹 Released stale slot {} of doctor {} held by appointment {}",
+                    slot, doctorId, held.getAppointmentId());
+            return SlotState.RELEASED;
+        });
+    }
+
+    private enum SlotState { FREE, TAKEN, RELEASED }
+
+    private static boolean holdsSlot(AppointmentStatus status) {
+        return status != AppointmentStatus.CANCELED;
+    }
+
+    private ReentrantLock stripeFor(Long doctorId) {
+        int hash = Long.hashCode(doctorId);
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    // Also fills in a missing status, so holdsSlot never sees null
+    private static void validate(Appointment appointment) {
+        if (appointment == null) throw new IllegalArgumentException("Appointment is required");
+        if (appointment.getDoctor() == null || appointment.getDoctor().getDoctorId() == null) {
+            throw new IllegalArgumentException("Doctor is required");
+        }
+        if (appointment.getPatient() == null) throw new IllegalArgumentException("Patient is required");
+        if (appointment.getAppointmentDateTime() == null) {
+            throw new IllegalArgumentException("Appointment date and time is required");
+        }
+        if (appointment.getStatus() == null) {
+            appointment.setStatus(AppointmentStatus.SCHEDULED);  // An explicit null in the body must not read as "active"
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.service.EmailTransport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "smtp", matchIfMissing = true)
+public class SmtpEmailTransport implements EmailTransport {
+
+    // Make JavaMailSender optional - will be null if bean not available
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Value("${spring.mail.username:noreply@hospital.com}")
+    private String fromEmail;
+
+    @Override
+    public void send(String toEmail, String subject, String body) {
+        if (mailSender == null) {
+            log.warn("⚠️ Email service not configured. Email NOT sent to: {} ({})", toEmail, subject);
+            log.warn("📧 Body for testing:\n{}", body);
+            return;  // Skip sending email in development
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject(subject);
+        message.setText(body);
+        mailSender.send(message);
+    }
+}
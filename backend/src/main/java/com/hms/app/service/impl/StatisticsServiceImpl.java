@@ -0,0 +1,275 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.enums.Role;
+import com.hms.app.event.AppointmentChangedEvent;
+import com.hms.app.event.UserLifecycleEvent;
+import com.hms.app.repository.AppointmentRepository;
+import com.hms.app.repository.UserRepository;
+import com.hms.app.service.StatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory dashboard counters. User counts are LongAdders moved by the
+ * before/after state each UserLifecycleEvent carries, so nothing is kept per
+ * user. Today's appointments are tracked as an id set for today and tomorrow,
+ * fed by AppointmentChangedEvents. Everything is reseeded from the database
+ * (one GROUP BY for users) at startup, just after midnight and on a fixed
+ * schedule, which also catches bulk updates and other instances' writes.
+ * <p>
+ * User events are numbered as their listeners run. Changes numbered before the
+ * count query started are in its result and changes numbered after it finished
+ * are replayed on top. A change whose listener ran while the query was running
+ * can't be placed, so the count is retried a few times to get a window with
+ * none; if that fails those changes are left out and the user counts may be off
+ * by that many (logged) until the next reconcile. The same holds for the rare
+ * commit whose listener is delayed past the whole query.
+ */
+@Slf4j
+@Service
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private final UserRepository userRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private volatile Counters counters;
+    private volatile boolean reconciling;
+    private final Object reconcileLock = new Object();
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Queue<HeldChange> changesDuringReconcile = new ConcurrentLinkedQueue<>();
+    private final AtomicLong userChangeSequence = new AtomicLong();
+
+    public StatisticsServiceImpl(UserRepository userRepository, AppointmentRepository appointmentRepository) {
+        this.userRepository = userRepository;
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        Counters current = counters;
+        if (current == null) {
+            reconcile();  // Only before the first seed has finished
+            current = counters;
+            if (current == null) {
+                return new Snapshot(0, 0, Map.of(), 0);
+            }
+        }
+        return current.snapshot(LocalDate.now());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            swapLock.writeLock().lock();
+            try {
+                changesDuringReconcile.clear();
+                reconciling = true;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            try {
+                long started = System.nanoTime();
+                // User deltas aren't idempotent: a user change racing the count query may or may not be
+                // in the result, so count again until no user change lands while we read
+                Counters fresh;
+                long loadStarted;
+                long loadFinished;
+                int attempt = 0;
+                do {
+                    loadStarted = userChangeSequence.get();
+                    fresh = load();
+                    loadFinished = userChangeSequence.get();
+                } while (loadFinished != loadStarted && ++attempt < MAX_LOAD_ATTEMPTS);
+
+                Counters previous = counters;
+                int unplaced = 0;
+                swapLock.writeLock().lock();
+                try {
+                    // Changes held back while we were reading; appointment ones are idempotent
+                    HeldChange missed;
+                    while ((missed = changesDuringReconcile.poll()) != null) {
+                        if (!(missed.event() instanceof UserLifecycleEvent) || missed.sequence() > loadFinished) {
+                            fresh.apply(missed.event());
+                        } else if (missed.sequence() > loadStarted) {
+                            unplaced++;
+                        }
+                    }
+                    counters = fresh;
+                } finally {
+                    reconciling = false;
+                    swapLock.writeLock().unlock();
+                }
+
+                if (unplaced > 0) {
+                    log.warn("⚠️ {} user changes raced every count query; user counts may be off by that much until the next reconcile",
+                            unplaced);
+                }
+                if (previous != null) {
+                    logDrift(previous, fresh);
+                }
+                log.info("✅ Statistics reconciled: {} users, {} appointments today in {} ms",
+                        fresh.totalUsers.sum(), fresh.appointmentsOn(LocalDate.now()),
+                        (System.nanoTime() - started) / 1_000_000);
+            } catch (Exception e) {
+                reconciling = false;
+                changesDuringReconcile.clear();
+                log.error("❌ Failed to reconcile statistics: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // Rolls "today" over without waiting for the next fixed-delay run
+    @Scheduled(cron = "${app.statistics.day-rollover-cron:5 0 0 * * *}")
+    public void rollOverDay() {
+        reconcile();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserLifecycleEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        record(event);
+    }
+
+    // While a reconcile runs, changes are held back and applied to the fresh counters instead
+    private void record(Object event) {
+        long sequence = event instanceof UserLifecycleEvent
+                ? userChangeSequence.incrementAndGet()
+                : userChangeSequence.get();
+        swapLock.readLock().lock();
+        try {
+            if (reconciling) {
+                changesDuringReconcile.add(new HeldChange(event, sequence));
+                return;
+            }
+            Counters current = counters;
+            if (current != null) {
+                current.apply(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private Counters load() {
+        Counters fresh = new Counters();
+        for (UserRepository.UserStatCount row : userRepository.countByRoleAndStatus()) {
+            boolean active = !Boolean.FALSE.equals(row.getEnabled()) && !Boolean.FALSE.equals(row.getIsActive());
+            fresh.addUsers(row.getRole(), active, row.getTotal());
+        }
+
+        LocalDate today = LocalDate.now();
+        for (LocalDate day : new LocalDate[]{today, today.plusDays(1)}) {
+            Set<Long> ids = ConcurrentHashMap.newKeySet();
+            ids.addAll(appointmentRepository.findActiveIdsBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+            fresh.appointmentsByDay.put(day, ids);
+        }
+        return fresh;
+    }
+
+    private static void logDrift(Counters previous, Counters fresh) {
+        long userDrift = fresh.totalUsers.sum() - previous.totalUsers.sum();
+        long activeDrift = fresh.activeUsers.sum() - previous.activeUsers.sum();
+        if (userDrift != 0 || activeDrift != 0) {
+            log.debug("Statistics drift corrected: users {}, active users {}", userDrift, activeDrift);
+        }
+    }
+
+    private record HeldChange(Object event, long sequence) {
+    }
+
+    private static final class Counters {
+        private final Map<Role, LongAdder> usersByRole = new EnumMap<>(Role.class);
+        private final LongAdder totalUsers = new LongAdder();
+        private final LongAdder activeUsers = new LongAdder();
+        private final Map<LocalDate, Set<Long>> appointmentsByDay = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (Role role : Role.values()) {
+                usersByRole.put(role, new LongAdder());
+            }
+        }
+
+        void apply(Object event) {
+            if (event instanceof UserLifecycleEvent user) {
+                applyUser(user);
+            } else if (event instanceof AppointmentChangedEvent appointment) {
+                applyAppointment(appointment.appointmentId(), appointment.slot());
+            }
+        }
+
+        // Remove the user as it was, add it as it is; an update with unknown previous state waits for reconcile
+        void applyUser(UserLifecycleEvent event) {
+            if (event.userId() == null) {
+                return;
+            }
+            if (!event.created()) {
+                if (event.previousRole() == null) {
+                    return;
+                }
+                addUsers(event.previousRole(), event.previousActive(), -1);
+            }
+            if (!event.removed()) {
+                addUsers(event.role(), event.active(), 1);
+            }
+        }
+
+        void addUsers(Role role, boolean active, long count) {
+            totalUsers.add(count);
+            if (role != null) usersByRole.get(role).add(count);
+            if (active) activeUsers.add(count);
+        }
+
+        void applyAppointment(Long appointmentId, LocalDateTime slot) {
+            LocalDate day = slot != null ? slot.toLocalDate() : null;
+            appointmentsByDay.forEach((tracked, ids) -> {
+                if (tracked.equals(day)) {
+                    ids.add(appointmentId);
+                } else {
+                    ids.remove(appointmentId);
+                }
+            });
+        }
+
+        long appointmentsOn(LocalDate day) {
+            Set<Long> ids = appointmentsByDay.get(day);
+            return ids != null ? ids.size() : 0;
+        }
+
+        Snapshot snapshot(LocalDate today) {
+            Map<Role, Long> byRole = new EnumMap<>(Role.class);
+            usersByRole.forEach((role, count) -> byRole.put(role, count.sum()));
+            return new Snapshot(totalUsers.sum(), activeUsers.sum(), byRole, appointmentsOn(today));
+        }
+    }
+}
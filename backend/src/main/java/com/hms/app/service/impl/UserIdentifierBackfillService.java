@@ -0,0 +1,39 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fills users.username_normalized / users.email_normalized for rows created
+ * before those columns existed. Idempotent: only touches rows still missing
+ * a value, so it is a no-op on every start after the first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UserIdentifierBackfillService implements CommandLineRunner {
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public void run(String... args) {
+        try {
+            int updated = userRepository.backfillNormalizedIdentifiers();
+            if (updated > 0) {
+                log.info("✅ Backfilled normalized identifiers for {} users", updated);
+            }
+        } catch (Exception e) {
+            // Usually means two existing accounts differ only by letter case
+            log.error("❌ Failed to backfill normalized user identifiers: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+}
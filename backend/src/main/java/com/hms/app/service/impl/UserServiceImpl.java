@@ -4,10 +4,12 @@ import com.hms.app.dto.UserRequest;
 import com.hms.app.dto.UserResponse;
 import com.hms.app.entity.User;
 import com.hms.app.enums.Role;
+import com.hms.app.event.UserAccountChangedEvent;
 import com.hms.app.repository.UserRepository;
 import com.hms.app.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,6 +26,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponse createUser(UserRequest userRequest) {
@@ -46,6 +49,7 @@ public class UserServiceImpl implements UserService {
         user.setEnabled(true);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(savedUser.getId()));
         log.info("User created successfully: {} with role: {}", savedUser.getEmail(), savedUser.getRole());
 
         return convertToResponse(savedUser);
@@ -73,17 +77,17 @@ public class UserServiceImpl implements UserService {
         // Update fields (don't update password here, have separate endpoint)
         existingUser.setFirstName(userRequest.getFirstName());
         existingUser.setLastName(userRequest.getLastName());
-        existingUser.setEmail(userRequest.getEmail());
-        if (userRequest.getUsername() != null) {
-            existingUser.setUsername(userRequest.getUsername());
-        }
+        existingUser.changeLoginIdentifiers(userRequest.getEmail(),
+                userRequest.getUsername() != null ? userRequest.getUsername() : existingUser.getUsername());
 
         // Only admins can change roles
-        if (isCurrentUserAdmin()) {
+        if (isCurrentUserAdmin() && existingUser.getRole() != userRequest.getRole()) {
             existingUser.setRole(userRequest.getRole());
+            existingUser.revokeTokens();  // Role is embedded in issued tokens
         }
 
         User updatedUser = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(updatedUser.getId()));
         return convertToResponse(updatedUser);
     }
 
@@ -93,6 +97,7 @@ public class UserServiceImpl implements UserService {
             throw new RuntimeException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(id));
     }
 
     // Additional helper methods
@@ -153,7 +158,9 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
     }
 
     // Method to enable/disable users (admin only)
@@ -161,7 +168,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        user.setEnabled(!user.isEnabled());
+        boolean enable = !user.isEnabled();
+        user.setEnabled(enable);
+        if (!enable) user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
     }
 }
\ No newline at end of file
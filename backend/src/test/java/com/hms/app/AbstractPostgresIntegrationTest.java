@@ -0,0 +1,90 @@
+package com.hms.app;
+
+import com.hms.app.entity.Doctor;
+import com.hms.app.entity.Patient;
+import com.hms.app.entity.User;
+import com.hms.app.enums.Role;
+import com.hms.app.repository.DoctorRepository;
+import com.hms.app.repository.PatientRepository;
+import com.hms.app.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+/**
+ * Base for tests that need real Postgres behaviour (constraints, locking,
+ * pg_trgm, full-text search). One container is shared by every subclass so
+ * the cached Spring context never points at a stopped database; the tests
+ * are skipped when Docker isn't available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "app.email.transport=log")  // Fake SMTP - never talk to a real mail server from tests
+public abstract class AbstractPostgresIntegrationTest {
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            POSTGRES.start();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected DoctorRepository doctorRepository;
+
+    @Autowired
+    protected PatientRepository patientRepository;
+
+    // The database outlives a single test class, so fixtures get unique identities instead of cleanup
+    protected Doctor saveDoctor() {
+        User user = saveUser(Role.DOCTOR);
+        return doctorRepository.save(Doctor.builder()
+                .user(user)
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .specialization("General Medicine")
+                .available(true)
+                .build());
+    }
+
+    protected Patient savePatient() {
+        User user = saveUser(Role.PATIENT);
+        Patient patient = new Patient();
+        patient.setUser(user);
+        patient.setFirstName(user.getFirstName());
+        patient.setLastName(user.getLastName());
+        return patientRepository.save(patient);
+    }
+
+    protected User saveUser(Role role) {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username(role.name().toLowerCase() + "-" + tag)
+                .email(role.name().toLowerCase() + "-" + tag + "@test.local")
+                .firstName("Test")
+                .lastName(tag)
+                .password("{noop}unused")
+                .role(role)
+                .isActive(true)
+                .enabled(true)
+                .build());
+    }
+}
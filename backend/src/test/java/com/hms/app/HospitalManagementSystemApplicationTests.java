@@ -3,7 +3,7 @@ package com.hms.app;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.email.transport=log")  // Fake SMTP - never talk to a real mail server from tests
 class HospitalManagementSystemApplicationTests {
 
 	@Test
@@ -0,0 +1,46 @@
+package com.hms.app.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AppointmentCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        AppointmentCursor cursor = new AppointmentCursor(LocalDateTime.of(2030, 1, 7, 10, 15, 30, 123_000_000), 42L);
+        assertEquals(cursor, AppointmentCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripKeepsWholeMinutes() {
+        // LocalDateTime.toString() drops zero seconds; decode must still accept it
+        AppointmentCursor cursor = new AppointmentCursor(LocalDateTime.of(2030, 1, 7, 10, 0), 7L);
+        assertEquals(cursor, AppointmentCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new AppointmentCursor(LocalDateTime.of(2030, 12, 31, 23, 59, 59), Long.MAX_VALUE).encode();
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursor.decode(encodeRaw("2030-01-07T10:00")));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursor.decode(encodeRaw("yesterday|5")));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursor.decode(encodeRaw("2030-01-07T10:00|x")));
+        assertThrows(IllegalArgumentException.class, () -> AppointmentCursor.decode(""));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package com.hms.app.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffsetCursorTest {
+
+    @Test
+    void blankCursorIsFirstPage() {
+        assertEquals(OffsetCursor.FIRST, OffsetCursor.decode(null, 100));
+        assertEquals(OffsetCursor.FIRST, OffsetCursor.decode("  ", 100));
+    }
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        OffsetCursor cursor = new OffsetCursor(40);
+        assertEquals(cursor, OffsetCursor.decode(cursor.encode(), 100));
+    }
+
+    @Test
+    void rejectsMalformedNegativeAndTooDeepCursors() {
+        assertThrows(IllegalArgumentException.class, () -> OffsetCursor.decode("abc", 100));
+        assertThrows(IllegalArgumentException.class, () -> OffsetCursor.decode("-1", 100));
+        assertThrows(IllegalArgumentException.class, () -> OffsetCursor.decode("101", 100));
+    }
+
+    @Test
+    void advanceStopsAtMaxOffset() {
+        OffsetCursor next = new OffsetCursor(50).advance(50, 100);
+        assertNotNull(next);
+        assertEquals(100, next.offset());
+        assertNull(new OffsetCursor(60).advance(50, 100));
+    }
+
+    @Test
+    void everyAdvancedCursorDecodes() {
+        OffsetCursor cursor = OffsetCursor.FIRST;
+        while (cursor != null) {
+            assertEquals(cursor, OffsetCursor.decode(cursor.encode(), 1000));
+            cursor = cursor.advance(30, 1000);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.hms.app.enums;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BloodGroupTest {
+
+    @Test
+    void parsesLabelsAndEnumNames() {
+        for (BloodGroup group : BloodGroup.values()) {
+            assertEquals(Optional.of(group), BloodGroup.parse(group.getLabel()));
+            assertEquals(Optional.of(group), BloodGroup.parse(group.name()));
+        }
+    }
+
+    @Test
+    void parsesLegacySpellings() {
+        assertEquals(Optional.of(BloodGroup.O_NEGATIVE), BloodGroup.parse("0-"));
+        assertEquals(Optional.of(BloodGroup.O_POSITIVE), BloodGroup.parse("0+"));
+        assertEquals(Optional.of(BloodGroup.AB_POSITIVE), BloodGroup.parse("AB +ve"));
+        assertEquals(Optional.of(BloodGroup.AB_NEGATIVE), BloodGroup.parse("ab -VE"));
+        assertEquals(Optional.of(BloodGroup.O_NEGATIVE), BloodGroup.parse("o neg"));
+        assertEquals(Optional.of(BloodGroup.B_POSITIVE), BloodGroup.parse(" b positive "));
+        assertEquals(Optional.of(BloodGroup.A_NEGATIVE), BloodGroup.parse("a_negative"));
+    }
+
+    @Test
+    void leavesUnrecognizableValuesEmpty() {
+        assertEquals(Optional.empty(), BloodGroup.parse(null));
+        assertEquals(Optional.empty(), BloodGroup.parse(""));
+        assertEquals(Optional.empty(), BloodGroup.parse("O"));  // Rh factor unknown
+        assertEquals(Optional.empty(), BloodGroup.parse("C+"));
+        assertEquals(Optional.empty(), BloodGroup.parse("unknown"));
+    }
+
+    @Test
+    void fromValueTreatsBlankAsMissingAndRejectsGarbage() {
+        assertNull(BloodGroup.fromValue(null));
+        assertNull(BloodGroup.fromValue("  "));
+        assertEquals(BloodGroup.AB_NEGATIVE, BloodGroup.fromValue("AB-"));
+        // An unencoded "O+" in a query string arrives as "O "; it must be a 400, not a guess
+        assertThrows(IllegalArgumentException.class, () -> BloodGroup.fromValue("O "));
+        assertThrows(IllegalArgumentException.class, () -> BloodGroup.fromValue("Z+"));
+    }
+}
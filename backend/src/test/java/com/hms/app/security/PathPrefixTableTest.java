@@ -0,0 +1,74 @@
+package com.hms.app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathPrefixTableTest {
+
+    @Test
+    void matchesPathsUnderAPrefix() {
+        PathPrefixTable table = PathPrefixTable.ofPrefixes(List.of("/api/doctor/", "/api/admin/", "/api/patient/"));
+
+        assertTrue(table.matches("/api/admin/"));
+        assertTrue(table.matches("/api/admin/users/5"));
+        assertTrue(table.matches("/api/doctor/appointments"));
+        assertTrue(table.matches("/api/patient/records"));
+        assertFalse(table.matches("/api/admin"));
+        assertFalse(table.matches("/api/administrator"));
+        assertFalse(table.matches("/api/nurse/tasks"));
+        assertFalse(table.matches("/"));
+        assertFalse(table.matches(""));
+        assertFalse(table.matches(null));
+    }
+
+    @Test
+    void floorLookupSkipsPrefixesThatOnlySortNearby() {
+        // "/api/" < "/api/zz" < "/api0" < "/api0/x": the floor must be the real prefix, not its neighbour
+        PathPrefixTable table = PathPrefixTable.ofPrefixes(List.of("/api/", "/api0/", "/b/"));
+
+        assertTrue(table.matches("/api/zz"));
+        assertTrue(table.matches("/api0/x"));
+        assertFalse(table.matches("/api0"));
+        assertFalse(table.matches("/api-docs"));
+        assertFalse(table.matches("/a"));
+        assertFalse(table.matches("/c/"));
+    }
+
+    @Test
+    void compactionKeepsShorterPrefixesAndDropsDuplicates() {
+        PathPrefixTable table = PathPrefixTable.ofPrefixes(
+                List.of("/api/admin/reports/", "/api/admin/", "/api/admin/", "/api/admin/users/"));
+
+        assertTrue(table.matches("/api/admin/reports/daily"));
+        assertTrue(table.matches("/api/admin/settings"));
+        assertFalse(table.matches("/api/adminx"));
+    }
+
+    @Test
+    void emptyTableMatchesNothing() {
+        PathPrefixTable table = PathPrefixTable.ofPrefixes(List.of());
+
+        assertFalse(table.matches("/"));
+        assertFalse(table.matches("/api/admin/"));
+    }
+
+    @Test
+    void antPatternsMatchTheBaseAndEverythingBelowIt() {
+        PathPrefixTable table = PathPrefixTable.ofPatterns(List.of("/api/auth/**", "/actuator/health", "/ws/**"));
+
+        assertTrue(table.matches("/api/auth"));
+        assertTrue(table.matches("/api/auth/login"));
+        assertTrue(table.matches("/api/auth/refresh/token"));
+        assertTrue(table.matches("/actuator/health"));
+        assertTrue(table.matches("/ws"));
+        assertTrue(table.matches("/ws/dashboard"));
+        assertFalse(table.matches("/api/authz"));
+        assertFalse(table.matches("/actuator/health/liveness"));
+        assertFalse(table.matches("/actuator/healthz"));
+        assertFalse(table.matches("/wsx"));
+    }
+}
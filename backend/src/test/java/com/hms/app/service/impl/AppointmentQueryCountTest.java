@@ -0,0 +1,100 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.AbstractPostgresIntegrationTest;
+import com.hms.app.dto.AppointmentFilter;
+import com.hms.app.dto.CursorPage;
+import com.hms.app.entity.Appointment;
+import com.hms.app.entity.Doctor;
+import com.hms.app.entity.Patient;
+import com.hms.app.enums.AppointmentStatus;
+import com.hms.app.repository.AppointmentRepository;
+import com.hms.app.service.AppointmentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Appointment listings are served from projections, so the number of
+ * statements per page must not grow with the page size.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AppointmentQueryCountTest extends AbstractPostgresIntegrationTest {
+
+    private static final int APPOINTMENTS = 50;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Doctor doctor;
+    private Patient patient;
+
+    @BeforeEach
+    void createAppointments() {
+        doctor = saveDoctor();
+        patient = savePatient();
+        LocalDateTime start = LocalDateTime.of(2031, 3, 3, 9, 0);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(doctor);
+            appointment.setPatient(patient);
+            appointment.setAppointmentDateTime(start.plusMinutes(15L * i));
+            appointment.setStatus(AppointmentStatus.SCHEDULED);
+            appointmentRepository.save(appointment);
+        }
+    }
+
+    @Test
+    void listingPageCostsTheSameForOneOrFiftyRows() {
+        AppointmentFilter filter = AppointmentFilter.builder().doctorId(doctor.getDoctorId()).build();
+
+        long single = statementsFor(() -> appointmentService.getAppointments(filter, null, 1));
+        long full = statementsFor(() -> appointmentService.getAppointments(filter, null, APPOINTMENTS));
+
+        assertEquals(single, full);
+    }
+
+    @Test
+    void doctorAndPatientListsCostTheSameForOneOrFiftyRows() {
+        Doctor otherDoctor = saveDoctor();
+        Patient otherPatient = savePatient();
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(otherDoctor);
+        appointment.setPatient(otherPatient);
+        appointment.setAppointmentDateTime(LocalDateTime.of(2031, 3, 3, 9, 0));
+        appointmentRepository.save(appointment);
+
+        assertEquals(
+                statementsFor(() -> appointmentService.getAppointmentsByDoctorId(otherDoctor.getDoctorId())),
+                statementsFor(() -> appointmentService.getAppointmentsByDoctorId(doctor.getDoctorId())));
+        assertEquals(
+                statementsFor(() -> appointmentService.getAppointmentsByPatientId(otherPatient.getPatientId())),
+                statementsFor(() -> appointmentService.getAppointmentsByPatientId(patient.getPatientId())));
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Object result = call.get();
+        int rows = result instanceof CursorPage<?> page ? page.getItems().size() : ((List<?>) result).size();
+        if (rows == 0) {
+            throw new AssertionError("Expected appointments to be returned");
+        }
+        return statistics.getPrepareStatementCount();
+    }
+}
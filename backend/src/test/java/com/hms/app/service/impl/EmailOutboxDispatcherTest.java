@@ -0,0 +1,201 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.AbstractPostgresIntegrationTest;
+import com.hms.app.entity.EmailOutboxMessage;
+import com.hms.app.enums.EmailOutboxStatus;
+import com.hms.app.repository.EmailOutboxRepository;
+import com.hms.app.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Drives the outbox end to end against Postgres (the claim query relies on
+ * FOR UPDATE SKIP LOCKED) with the logging transport standing in for SMTP.
+ * The scheduled poll is pushed out so only the test calls dispatch().
+ */
+@TestPropertySource(properties = {
+        "app.email.outbox.poll-interval-ms=3600000",
+        "app.email.outbox.max-attempts=3",
+        "app.email.outbox.base-backoff-seconds=30",
+        "app.email.outbox.max-backoff-seconds=3600",
+        "app.email.outbox.lease-seconds=120"
+})
+class EmailOutboxDispatcherTest extends AbstractPostgresIntegrationTest {
+
+    @SpyBean
+    private LoggingEmailTransport transport;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String recipient;
+
+    @BeforeEach
+    void setUp() {
+        transport.clear();
+        recipient = "outbox-" + UUID.randomUUID() + "@test.local";
+    }
+
+    @Test
+    void queuedEmailIsDeliveredThroughTheTransport() {
+        emailService.sendPasswordChangedNotification(recipient);
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage message = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.SENT, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getSentAt());
+        assertTrue(transport.getSent().stream().anyMatch(sent -> sent.toEmail().equals(recipient)));
+    }
+
+    @Test
+    void failingEmailBacksOffExponentiallyThenDeadLetters() {
+        doThrow(new MailSendException("SMTP unavailable")).when(transport).send(eq(recipient), anyString(), anyString());
+        emailService.sendWelcomeEmail(recipient, "outbox-test");
+
+        // Attempt 1: base backoff with jitter, i.e. 15-30s
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+        EmailOutboxMessage first = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.PENDING, first.getStatus());
+        assertEquals(1, first.getAttempts());
+        assertEquals("SMTP unavailable", first.getLastError());
+        assertDelayBetween(before, first.getNextAttemptAt(), 15, 30);
+
+        // Not due yet, so another poll leaves it alone
+        dispatcher.dispatch();
+        assertEquals(1, messageFor(recipient).getAttempts());
+
+        // Attempt 2: the delay doubles, 30-60s
+        makeDue(first.getId());
+        before = LocalDateTime.now();
+        dispatcher.dispatch();
+        EmailOutboxMessage second = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.PENDING, second.getStatus());
+        assertEquals(2, second.getAttempts());
+        assertDelayBetween(before, second.getNextAttemptAt(), 30, 60);
+
+        // Attempt 3 is the last one allowed
+        makeDue(first.getId());
+        dispatcher.dispatch();
+        EmailOutboxMessage dead = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.DEAD, dead.getStatus());
+        assertEquals(3, dead.getAttempts());
+        assertFalse(transport.getSent().stream().anyMatch(sent -> sent.toEmail().equals(recipient)));
+    }
+
+    @Test
+    void expiredLeaseCountsAsAnAttempt() {
+        emailService.sendPasswordChangedNotification(recipient);
+        Long id = messageFor(recipient).getId();
+
+        // A worker claimed the final attempt and never reported back
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'SENDING', attempts = 3, next_attempt_at = ? " +
+                "WHERE email_id = ?", LocalDateTime.now().minusSeconds(1), id);
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage message = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.DEAD, message.getStatus());
+        assertEquals(3, message.getAttempts());
+        verify(transport, never()).send(eq(recipient), anyString(), anyString());
+    }
+
+    @Test
+    void expiredLeaseIsRetriedWithTheNextAttemptNumber() {
+        emailService.sendPasswordChangedNotification(recipient);
+        Long id = messageFor(recipient).getId();
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'SENDING', attempts = 1, next_attempt_at = ? " +
+                "WHERE email_id = ?", LocalDateTime.now().minusSeconds(1), id);
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage message = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.SENT, message.getStatus());
+        assertEquals(2, message.getAttempts());
+    }
+
+    @Test
+    void expiredResetEmailIsDeadLetteredUnsent() {
+        emailService.sendResetEmail(recipient, UUID.randomUUID().toString(), LocalDateTime.now().minusSeconds(1));
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage message = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.DEAD, message.getStatus());
+        assertEquals("Expired before it could be delivered", message.getLastError());
+        verify(transport, never()).send(eq(recipient), anyString(), anyString());
+    }
+
+    @Test
+    void retryThatWouldLandAfterExpiryDeadLetters() {
+        doThrow(new MailSendException("SMTP unavailable")).when(transport).send(eq(recipient), anyString(), anyString());
+        // The first backoff is at least 15s, past this expiry
+        emailService.sendResetEmail(recipient, UUID.randomUUID().toString(), LocalDateTime.now().plusSeconds(10));
+
+        dispatcher.dispatch();
+
+        EmailOutboxMessage message = messageFor(recipient);
+        assertEquals(EmailOutboxStatus.DEAD, message.getStatus());
+        assertEquals(1, message.getAttempts());
+    }
+
+    @Test
+    void purgeRemovesOldDeadRows() {
+        emailService.sendPasswordChangedNotification(recipient);
+        Long id = messageFor(recipient).getId();
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'DEAD', next_attempt_at = ? WHERE email_id = ?",
+                LocalDateTime.now().minusDays(365), id);
+
+        dispatcher.purge();
+
+        assertFalse(emailOutboxRepository.existsById(id));
+    }
+
+    private EmailOutboxMessage messageFor(String toEmail) {
+        return emailOutboxRepository.findAll().stream()
+                .filter(message -> message.getRecipient().equals(toEmail))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No outbox row for " + toEmail));
+    }
+
+    private void makeDue(Long id) {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE email_id = ?",
+                LocalDateTime.now().minusSeconds(1), id);
+    }
+
+    private static void assertDelayBetween(LocalDateTime from, LocalDateTime next, long minSeconds, long maxSeconds) {
+        long delay = Duration.between(from, next).toSeconds();
+        assertTrue(delay >= minSeconds - 1 && delay <= maxSeconds + 1,
+                "Expected a delay of " + minSeconds + "-" + maxSeconds + "s but was " + delay + "s");
+    }
+}
@@ -0,0 +1,115 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.dto.NurseTaskResponse;
+import com.hms.app.enums.NurseTaskPriority;
+import com.hms.app.enums.NurseTaskStatus;
+import com.hms.app.event.NurseTaskChangedEvent;
+import com.hms.app.service.NurseTaskService.Workload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The queues and dashboard counters are maintained incrementally from
+ * change events; these tests drive them the same way, without a database.
+ */
+class NurseTaskQueueTest {
+
+    private static final long NURSE_A = 10L;
+    private static final long NURSE_B = 20L;
+
+    private final LocalDateTime today = LocalDate.now().atTime(9, 0);
+    private NurseTaskServiceImpl service;
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        service = new NurseTaskServiceImpl(null, null, null, null, null, 100);
+    }
+
+    @Test
+    void addingTasksUpdatesCounters() {
+        service.onTaskChanged(task(1L, NURSE_A, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today));
+        service.onTaskChanged(task(2L, NURSE_A, 100L, NurseTaskPriority.NORMAL, NurseTaskStatus.PENDING, today.minusDays(2)));
+        service.onTaskChanged(task(3L, NURSE_A, 200L, NurseTaskPriority.LOW, NurseTaskStatus.IN_PROGRESS, today.plusDays(3)));
+
+        // Two patients, the overdue task counts as today's work, one urgent
+        assertEquals(new Workload(2, 2, 1), service.getWorkload(NURSE_A));
+    }
+
+    @Test
+    void replayingAnEventIsHarmless() {
+        NurseTaskChangedEvent event = task(1L, NURSE_A, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today);
+        service.onTaskChanged(event);
+        service.onTaskChanged(event);
+
+        assertEquals(new Workload(1, 1, 1), service.getWorkload(NURSE_A));
+    }
+
+    @Test
+    void closingTasksReleasesCounters() {
+        service.onTaskChanged(task(1L, NURSE_A, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today));
+        service.onTaskChanged(task(2L, NURSE_A, 100L, NurseTaskPriority.NORMAL, NurseTaskStatus.PENDING, today));
+
+        service.onTaskChanged(task(1L, NURSE_A, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.COMPLETED, today));
+        assertEquals(new Workload(1, 1, 0), service.getWorkload(NURSE_A));
+
+        service.onTaskChanged(task(2L, NURSE_A, 100L, NurseTaskPriority.NORMAL, NurseTaskStatus.CANCELED, today));
+        assertEquals(new Workload(0, 0, 0), service.getWorkload(NURSE_A));
+        assertEquals(List.of(), service.getNextTasks(NURSE_A, 10));
+    }
+
+    @Test
+    void reassigningMovesTaskAndCountersBetweenNurses() {
+        service.onTaskChanged(task(1L, NURSE_A, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today));
+        service.onTaskChanged(task(2L, NURSE_A, 200L, NurseTaskPriority.NORMAL, NurseTaskStatus.PENDING, today));
+
+        service.onTaskChanged(task(1L, NURSE_B, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today));
+
+        assertEquals(new Workload(1, 1, 0), service.getWorkload(NURSE_A));
+        assertEquals(new Workload(1, 1, 1), service.getWorkload(NURSE_B));
+
+        // Unassigning takes it out of every queue
+        service.onTaskChanged(task(1L, null, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today));
+        assertEquals(new Workload(0, 0, 0), service.getWorkload(NURSE_B));
+    }
+
+    @Test
+    void priorityChangeMovesTaskWithinQueue() {
+        service.onTaskChanged(task(1L, NURSE_A, 100L, NurseTaskPriority.NORMAL, NurseTaskStatus.PENDING, today));
+        service.onTaskChanged(task(2L, NURSE_A, 200L, NurseTaskPriority.HIGH, NurseTaskStatus.PENDING, today.plusHours(1)));
+
+        service.onTaskChanged(task(1L, NURSE_A, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today));
+
+        List<Long> order = service.getNextTasks(NURSE_A, 10).stream().map(NurseTaskResponse::getTaskId).toList();
+        assertEquals(List.of(1L, 2L), order);
+        assertEquals(new Workload(2, 2, 1), service.getWorkload(NURSE_A));
+    }
+
+    @Test
+    void staleEventsAreIgnored() {
+        NurseTaskChangedEvent pending = task(1L, NURSE_A, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today);
+        NurseTaskChangedEvent reassigned = task(1L, NURSE_B, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.PENDING, today);
+        NurseTaskChangedEvent completed = task(1L, NURSE_B, 100L, NurseTaskPriority.URGENT, NurseTaskStatus.COMPLETED, today);
+
+        // Listeners ran in the wrong order: the completion must win over both older states
+        service.onTaskChanged(completed);
+        service.onTaskChanged(reassigned);
+        service.onTaskChanged(pending);
+
+        assertEquals(new Workload(0, 0, 0), service.getWorkload(NURSE_A));
+        assertEquals(new Workload(0, 0, 0), service.getWorkload(NURSE_B));
+    }
+
+    // Each event is one write to the row, so versions only grow
+    private NurseTaskChangedEvent task(Long taskId, Long nurseId, Long patientId, NurseTaskPriority priority,
+                                       NurseTaskStatus status, LocalDateTime dueAt) {
+        return new NurseTaskChangedEvent(taskId, nurseId, null, patientId, "Patient " + patientId, "Vitals",
+                priority, status, dueAt, version++);
+    }
+}
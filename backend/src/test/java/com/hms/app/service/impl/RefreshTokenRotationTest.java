@@ -0,0 +1,102 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.AbstractPostgresIntegrationTest;
+import com.hms.app.entity.User;
+import com.hms.app.enums.Role;
+import com.hms.app.exception.InvalidRefreshTokenException;
+import com.hms.app.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Rotation and reuse detection against Postgres, since both rely on the
+ * conditional updates in RefreshTokenRepository. Each call commits on its
+ * own, as it does behind the refresh endpoint.
+ */
+class RefreshTokenRotationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser(Role.PATIENT);
+    }
+
+    @Test
+    void rotationIssuesANewTokenAndSpendsTheOldOne() {
+        String first = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        assertEquals(user.getId(), rotation.user().getId());
+        assertNotEquals(first, rotation.refreshToken());
+        // The new token keeps working, and rotates again within the same family
+        String third = refreshTokenService.rotate(rotation.refreshToken()).refreshToken();
+        assertNotEquals(rotation.refreshToken(), third);
+        assertEquals(1, liveTokens());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        String stolen = refreshTokenService.issue(user);
+        String current = refreshTokenService.rotate(stolen).refreshToken();
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(stolen));
+
+        // The legitimate holder's newer token dies with it
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(current));
+        assertEquals(0, liveTokens());
+    }
+
+    @Test
+    void revokedFamilyStaysRevokedForLaterRefreshes() {
+        String stolen = refreshTokenService.issue(user);
+        String current = refreshTokenService.rotate(stolen).refreshToken();
+        String otherLogin = refreshTokenService.issue(user);
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(stolen));
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(stolen));
+            assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(current));
+        }
+
+        // Only the compromised family is revoked; another login of the same user still refreshes
+        refreshTokenService.rotate(otherLogin);
+        assertEquals(1, liveTokens());
+    }
+
+    @Test
+    void bumpingTheTokenVersionInvalidatesRefreshTokens() {
+        String token = refreshTokenService.issue(user);
+        user.revokeTokens();
+        user = userRepository.save(user);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+        assertEquals(0, liveTokens());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("not-a-real-token"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(" "));
+    }
+
+    private int liveTokens() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND rotated_at IS NULL AND revoked_at IS NULL",
+                Integer.class, user.getId());
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.hms.app.service.impl;
+
+import com.hms.app.AbstractPostgresIntegrationTest;
+import com.hms.app.entity.Appointment;
+import com.hms.app.entity.Doctor;
+import com.hms.app.entity.Patient;
+import com.hms.app.enums.AppointmentStatus;
+import com.hms.app.exception.SlotUnavailableException;
+import com.hms.app.service.SlotReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlotReservationConcurrencyTest extends AbstractPostgresIntegrationTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private SlotReservationService slotReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentBookingsForOneSlotAdmitExactlyOne() throws Exception {
+        Doctor doctor = saveDoctor();
+        LocalDateTime slot = LocalDateTime.of(2030, 1, 7, 10, 0);
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            patients.add(savePatient());
+        }
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (Patient patient : patients) {
+                calls.add(pool.submit(() -> {
+                    Appointment appointment = new Appointment();
+                    appointment.setDoctor(doctor);
+                    appointment.setPatient(patient);
+                    appointment.setAppointmentDateTime(slot.plusMinutes(5));  // Same 15-minute slot, different minute
+                    appointment.setStatus(AppointmentStatus.SCHEDULED);
+                    start.await();
+                    try {
+                        slotReservationService.book(appointment);
+                        booked.incrementAndGet();
+                    } catch (SlotUnavailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(60, TimeUnit.SECONDS);  // Anything other than a slot conflict fails the test here
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, booked.get());
+        assertEquals(CALLERS - 1, rejected.get());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointment_slots WHERE doctor_id = ?", Integer.class, doctor.getDoctorId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointments WHERE doctor_id = ?", Integer.class, doctor.getDoctorId()));
+    }
+}
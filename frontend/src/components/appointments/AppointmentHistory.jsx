@@ -54,7 +54,7 @@ const AppointmentHistory = ({ patientId = null, doctorId = null }) => {
       } else if (user.role === 'DOCTOR') {
         response = await appointmentService.getDoctorAppointments(user.id, params);
       } else {
-        response = await appointmentService.getAllAppointments(params);
+        response = (await appointmentService.getAllAppointments(params)).items;
       }
       
       setAppointments(response);
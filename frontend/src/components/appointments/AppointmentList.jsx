@@ -14,6 +14,8 @@ const AppointmentList = ({
   const [appointments, setAppointments] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [filters, setFilters] = useState({
     status: 'all',
     dateRange: 'all',
@@ -28,26 +30,21 @@ const AppointmentList = ({
     try {
       setLoading(true);
       let response;
+      let cursor = null;
       
       // Role-based data fetching based on our authentication pattern
-      if (user.role === 'ADMIN') {
-        response = await appointmentService.getAllAppointments(filters);
+      if (user.role === 'ADMIN' || user.role === 'NURSE' || user.role === 'RECEPTIONIST') {
+        const page = await appointmentService.getAllAppointments(filters);
+        response = page.items;
+        cursor = page.hasMore ? page.nextCursor : null;
       } else if (user.role === 'DOCTOR') {
         response = await appointmentService.getDoctorAppointments(user.id, filters);
       } else if (user.role === 'PATIENT') {
         response = await appointmentService.getPatientAppointments(user.id, filters);
-      } else if (user.role === 'NURSE' || user.role === 'RECEPTIONIST') {
-        response = await appointmentService.getAllAppointments(filters);
       }
 
-      if (filterByDoctor) {
-        response = response.filter(apt => apt.doctorId === filterByDoctor);
-      }
-      if (filterByPatient) {
-        response = response.filter(apt => apt.patientId === filterByPatient);
-      }
-
-      setAppointments(response);
+      setAppointments(applyScopeFilters(response));
+      setNextCursor(cursor);
     } catch (err) {
       setError('Failed to fetch appointments');
       console.error('Error fetching appointments:', err);
@@ -56,6 +53,32 @@ const AppointmentList = ({
     }
   };
 
+  const applyScopeFilters = (items) => {
+    let result = items;
+    if (filterByDoctor) {
+      result = result.filter(apt => apt.doctorId === filterByDoctor);
+    }
+    if (filterByPatient) {
+      result = result.filter(apt => apt.patientId === filterByPatient);
+    }
+    return result;
+  };
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const page = await appointmentService.getAllAppointments(filters, nextCursor);
+      setAppointments(prev => [...prev, ...applyScopeFilters(page.items)]);
+      setNextCursor(page.hasMore ? page.nextCursor : null);
+    } catch (err) {
+      setError('Failed to load more appointments');
+      console.error('Error loading more appointments:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleStatusChange = async (appointmentId, newStatus) => {
     try {
       await appointmentService.updateAppointmentStatus(appointmentId, newStatus);
@@ -174,6 +197,18 @@ const AppointmentList = ({
           ))
         )}
       </div>
+
+      {nextCursor && (
+        <div className="text-center">
+          <button
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="px-4 py-2 border border-gray-300 rounded-lg text-gray-700 hover:bg-gray-50 transition-colors disabled:opacity-50"
+          >
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
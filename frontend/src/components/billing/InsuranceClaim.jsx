@@ -381,19 +381,30 @@ const CreateClaimForm = ({ patientId, billId, onSuccess, onCancel }) => {
     notes: ''
   });
   const [patients, setPatients] = useState([]);
+  const [patientQuery, setPatientQuery] = useState('');
   const [bills, setBills] = useState([]);
   const [documents, setDocuments] = useState([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
 
   useEffect(() => {
-    if (!patientId) fetchPatients();
     if (!billId) fetchBills();
-  }, [patientId, billId]);
+  }, [billId]);
 
-  const fetchPatients = async () => {
+  // The directory is paginated, so look patients up by name or email instead of listing them all
+  useEffect(() => {
+    if (patientId) return;
+    const timer = setTimeout(() => fetchPatients(patientQuery), 300);
+    return () => clearTimeout(timer);
+  }, [patientId, patientQuery]);
+
+  const fetchPatients = async (query) => {
+    if (query.trim().length < 2) {
+      setPatients([]);
+      return;
+    }
     try {
-      const response = await patientService.getAllPatients();
+      const response = await patientService.searchPatients(query.trim());
       setPatients(response);
     } catch (err) {
       console.error('Error fetching patients:', err);
@@ -497,6 +508,11 @@ const CreateClaimForm = ({ patientId, billId, onSuccess, onCancel }) => {
             <label className="block text-sm font-medium text-gray-700 mb-2">
               Patient *
             </label>
+            <Input
+              placeholder="Search by name or email..."
+              value={patientQuery}
+              onChange={(e) => setPatientQuery(e.target.value)}
+            />
             <select
               value={formData.patientId}
               onChange={(e) => handleInputChange('patientId', e.target.value)}
@@ -506,7 +522,7 @@ const CreateClaimForm = ({ patientId, billId, onSuccess, onCancel }) => {
               <option value="">Select patient</option>
               {patients.map(patient => (
                 <option key={patient.id} value={patient.id}>
-                  {patient.firstName} {patient.lastName} - {patient.patientId}
+                  {patient.firstName} {patient.lastName} - {patient.email}
                 </option>
               ))}
             </select>
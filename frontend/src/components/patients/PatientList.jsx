@@ -21,6 +21,8 @@ import {
   Trash2
 } from 'lucide-react';
 
+const PAGE_SIZE = 20;
+
 const PatientList = () => {
   const { user } = useAuth();
   const navigate = useNavigate();
@@ -37,27 +39,40 @@ const PatientList = () => {
   });
   const [showAddModal, setShowAddModal] = useState(false);
   const [departments, setDepartments] = useState([]);
+  const [page, setPage] = useState(0);
+  const [pageInfo, setPageInfo] = useState(null);
+
+  useEffect(() => {
+    setPage(0);
+  }, [filters, searchTerm]);
 
   useEffect(() => {
     fetchPatients();
     fetchDepartments();
-  }, [filters, searchTerm]);
+  }, [filters, searchTerm, page]);
 
   const fetchPatients = async () => {
     try {
       setLoading(true);
       let response;
+      let info = null;
       
       // Role-based data fetching
       if (user.role === 'DOCTOR') {
         response = await patientService.getDoctorPatients(user.id, { ...filters, search: searchTerm });
       } else if (user.role === 'NURSE') {
         response = await patientService.getWardPatients(user.wardId, { ...filters, search: searchTerm });
+      } else if (searchTerm.trim().length >= 2) {
+        response = await patientService.searchPatients(searchTerm.trim());
       } else {
-        response = await patientService.getAllPatients({ ...filters, search: searchTerm });
+        // Server-side paging; the directory only filters on gender here
+        const result = await patientService.getAllPatients({ gender: filters.gender }, page, PAGE_SIZE);
+        response = result.items;
+        info = result;
       }
       
       setPatients(response);
+      setPageInfo(info);
     } catch (err) {
       setError('Failed to fetch patients');
       console.error('Error fetching patients:', err);
@@ -337,8 +352,7 @@ const PatientList = () => {
           loading={loading}
           searchable={false}
           sortable={true}
-          pagination={true}
-          itemsPerPage={15}
+          pagination={false}
           onRowClick={user.role !== 'PATIENT' ? handleViewPatient : undefined}
           emptyMessage="No patients found matching your criteria"
         />
@@ -373,6 +387,24 @@ const PatientList = () => {
         </div>
       )}
 
+      {/* Server-side paging */}
+      {pageInfo && (pageInfo.page > 0 || pageInfo.hasNext) && (
+        <div className="flex items-center justify-between">
+          <span className="text-sm text-gray-600">
+            Page {pageInfo.page + 1}{pageInfo.totalPages ? ` of ${pageInfo.totalPages}` : ''}
+            {pageInfo.totalElements != null && ` (${pageInfo.totalElements} patients)`}
+          </span>
+          <div className="flex space-x-2">
+            <Button variant="outline" size="sm" disabled={loading || page === 0} onClick={() => setPage(page - 1)}>
+              Previous
+            </Button>
+            <Button variant="outline" size="sm" disabled={loading || !pageInfo.hasNext} onClick={() => setPage(page + 1)}>
+              Next
+            </Button>
+          </div>
+        </div>
+      )}
+
       {/* Add Patient Modal */}
       {showAddModal && (
         <Modal
@@ -28,7 +28,7 @@ export const API_ENDPOINTS = {
     LOGIN: '/auth/login',                    // All roles can login
     REGISTER: '/auth/register',              // PATIENT registration ONLY
     LOGOUT: '/auth/logout',
-    REFRESH_TOKEN: '/auth/refresh-token',
+    REFRESH_TOKEN: '/auth/refresh',
     VERIFY_TOKEN: '/auth/verify',
     PROFILE: '/auth/profile',
     CHANGE_PASSWORD: '/auth/change-password',
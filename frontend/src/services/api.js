@@ -12,6 +12,38 @@ const api = axios.create({
   },
 });
 
+// Single in-flight refresh shared by all requests that hit 401 at the same time
+let refreshPromise = null;
+
+const refreshAccessToken = (refreshToken) => {
+  if (!refreshPromise) {
+    refreshPromise = axios
+      .post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        localStorage.setItem('authToken', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        return data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
+const expireSession = () => {
+  localStorage.removeItem('authToken');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+  localStorage.removeItem('loginTime');
+
+  // Only redirect if not already on login page
+  if (!window.location.pathname.includes('/login')) {
+    window.location.href = '/login';
+  }
+  return Promise.reject(new Error('Session expired. Please login again.'));
+};
+
 // Request interceptor to add auth token
 api.interceptors.request.use(
   (config) => {
@@ -21,7 +53,7 @@ api.interceptors.request.use(
                           config.url?.includes('/auth/forgot-password') ||
                           config.url?.includes('/auth/reset-password') ||
                           config.url?.includes('/auth/verify-email') ||
-                          config.url?.includes('/auth/refresh-token');
+                          config.url?.includes('/auth/refresh');
     
     // Only add token for non-auth endpoints
     if (!isAuthEndpoint) {
@@ -77,16 +109,18 @@ api.interceptors.response.use(
                             config?.url?.includes('/auth/verify-email');
       
       if (!isAuthEndpoint) {
-        // Unauthorized - token expired or invalid (for protected endpoints)
-        localStorage.removeItem('authToken');
-        localStorage.removeItem('user');
-        localStorage.removeItem('loginTime');
-        
-        // Only redirect if not already on login page
-        if (!window.location.pathname.includes('/login')) {
-          window.location.href = '/login';
+        // Access token expired - try one silent refresh before logging out
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (refreshToken && !config._retry) {
+          config._retry = true;
+          return refreshAccessToken(refreshToken).then(
+            () => api(config),
+            () => expireSession()
+          );
         }
-        return Promise.reject(new Error('Session expired. Please login again.'));
+
+        // Unauthorized - token expired or invalid (for protected endpoints)
+        return expireSession();
       }
       
       // For auth endpoints, return the actual error message from backend
@@ -5,16 +5,26 @@ class AppointmentService {
     this.baseURL = '/appointments';
   }
 
-  // Get all appointments
-  async getAllAppointments(params = {}) {
+  // Get one page of appointments; pass the returned nextCursor back to load the next page
+  async getAllAppointments(params = {}, cursor = null) {
     try {
       const queryParams = new URLSearchParams();
       Object.keys(params).forEach(key => {
         if (params[key]) queryParams.append(key, params[key]);
       });
+      if (cursor) queryParams.append('cursor', cursor);
       
-      const response = await apiHelpers.get(`${this.baseURL}?${queryParams}`);
-      return response;
+      // Listing is keyset-paginated: { items, nextCursor, hasMore, limit }
+      const page = await apiHelpers.get(`${this.baseURL}?${queryParams}`);
+      const items = Array.isArray(page) ? page : (page?.items || []);
+      return {
+        items: items.map(apt => ({
+          ...apt,
+          appointmentDateTime: apt.appointmentDateTime || apt.appointmentDate
+        })),
+        nextCursor: page?.nextCursor || null,
+        hasMore: Boolean(page?.hasMore)
+      };
     } catch (error) {
       throw error;
     }
@@ -59,6 +59,9 @@ class AuthService {
       if (response.token) {
         if (response.user && typeof response.user === 'object') {
           localStorage.setItem('authToken', response.token);
+          if (response.refreshToken) {
+            localStorage.setItem('refreshToken', response.refreshToken);
+          }
           localStorage.setItem('user', JSON.stringify(response.user));
           localStorage.setItem('loginTime', new Date().toISOString());
 
@@ -107,7 +110,9 @@ class AuthService {
   // ==========================
   async logout() {
     try {
-      await apiHelpers.post(`${this.baseURL}/logout`);
+      await apiHelpers.post(`${this.baseURL}/logout`, {
+        refreshToken: localStorage.getItem('refreshToken')
+      });
     } catch (error) {
       console.error('Logout error:', error);
     } finally {
@@ -117,9 +122,12 @@ class AuthService {
 
   async refreshToken() {
     try {
-      const response = await apiHelpers.post(`${this.baseURL}/refresh-token`);
+      const response = await apiHelpers.post(`${this.baseURL}/refresh`, {
+        refreshToken: localStorage.getItem('refreshToken')
+      });
       if (response.token) {
         localStorage.setItem('authToken', response.token);
+        localStorage.setItem('refreshToken', response.refreshToken);
         return response;
       }
       throw new Error('Failed to refresh token');
@@ -256,6 +264,7 @@ class AuthService {
   clearAuthData() {
     try {
       localStorage.removeItem('authToken');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('user');
       localStorage.removeItem('loginTime');
       localStorage.removeItem('preferences');
@@ -5,15 +5,21 @@ class PatientService {
     this.baseURL = '/patients';
   }
 
-  // Get all patients with filtering
-  async getAllPatients(params = {}) {
+  // Get one page of the patient directory; "all" filter values are left out
+  async getAllPatients(params = {}, page = 0, size = 20) {
     try {
       const queryParams = new URLSearchParams();
       Object.keys(params).forEach(key => {
-        if (params[key]) queryParams.append(key, params[key]);
+        if (params[key] && params[key] !== 'all') queryParams.append(key, params[key]);
       });
-      const response = await apiHelpers.get(`${this.baseURL}?${queryParams}`);
-      return response;
+      queryParams.append('page', page);
+      queryParams.append('size', size);
+      // Directory is paginated: { items, page, size, hasNext, totalElements, totalPages }
+      const result = await apiHelpers.get(`/patient?${queryParams}`);
+      if (Array.isArray(result)) {
+        return { items: result, page, size, hasNext: false, totalElements: result.length, totalPages: 1 };
+      }
+      return { ...result, items: result?.items || [] };
     } catch (error) {
       throw error.response?.data || error;
     }
@@ -62,8 +68,14 @@ class PatientService {
   // Search patients
   async searchPatients(searchTerm) {
     try {
-      const response = await apiHelpers.get(`${this.baseURL}/search?q=${encodeURIComponent(searchTerm)}`);
-      return response;
+      // Ranked and paginated: { items, nextCursor, hasMore, limit }
+      const page = await apiHelpers.get(`${this.baseURL}/search?q=${encodeURIComponent(searchTerm)}`);
+      const items = Array.isArray(page) ? page : (page?.items || []);
+      return items.map(patient => ({
+        ...patient,
+        id: patient.id ?? patient.patientId,
+        phoneNumber: patient.phoneNumber || patient.contactNumber
+      }));
     } catch (error) {
       throw error.response?.data || error;
     }
@@ -152,7 +164,7 @@ class PatientService {
       Object.keys(params).forEach(key => {
         if (params[key]) queryParams.append(key, params[key]);
       });
-      const response = await apiHelpers.download(`${this.baseURL}/export?${queryParams}`, 'patients.xlsx');
+      const response = await apiHelpers.download(`${this.baseURL}/export?${queryParams}`, `patients.${params.format || 'csv'}`);
       return response;
     } catch (error) {
       throw error.response?.data || error;